@@ -0,0 +1,29 @@
+-- Removes the indexes from indexes.sql
+-- to capture the "before" plans.
+--
+-- When Hibernate creates the schema, the submitted_by foreign key is added
+-- after the @Index definitions, so MySQL reuses the submitted_by-leading
+-- composite index for it instead of creating its own, and refuses to drop that
+-- index (error 1553). A plain submitted_by index goes first so the foreign key
+-- keeps an index of its own; indexes.sql removes it again.
+
+CREATE INDEX idx_reimbursement_requests_submitted_by ON reimbursement_requests (submitted_by);
+
+DROP INDEX idx_reimbursement_requests_submitted ON reimbursement_requests;
+DROP INDEX idx_reimbursement_requests_status_submitted ON reimbursement_requests;
+DROP INDEX idx_reimbursement_requests_submitter_submitted ON reimbursement_requests;
+DROP INDEX idx_reimbursement_requests_submitter_status_submitted ON reimbursement_requests;
+DROP INDEX idx_users_name ON users;
+DROP INDEX idx_users_role ON users;
+
+-- The FULLTEXT index is not part of the JPA schema, so it only exists after a
+-- previous run or a manual indexes.sql.
+SET @drop_fulltext = (
+    SELECT IF(COUNT(*) > 0, 'DROP INDEX ft_users_name_email ON users', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'ft_users_name_email');
+PREPARE drop_fulltext FROM @drop_fulltext;
+EXECUTE drop_fulltext;
+DEALLOCATE PREPARE drop_fulltext;
+
+ANALYZE TABLE users, reimbursement_requests;
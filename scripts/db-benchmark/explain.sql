@@ -0,0 +1,63 @@
+-- The SQL Hibernate generates for the hot listing queries, with representative
+-- parameters. @employee is a submitter with ~100 requests.
+
+SET @employee = (SELECT MIN(id) + 42 FROM users WHERE email LIKE 'bench.user%');
+
+SELECT '-- dashboard: newest first, first page' AS query;
+EXPLAIN ANALYZE
+SELECT r.id, rc.id, rc.image_url, rc.merchant_name, r.requested_amount, r.status, s.name, s.email, r.submitted_at
+FROM reimbursement_requests r
+JOIN receipts rc ON rc.id = r.receipt_id
+JOIN users s ON s.id = r.submitted_by
+LEFT JOIN users rv ON rv.id = r.reviewed_by
+ORDER BY r.submitted_at DESC, r.id DESC
+LIMIT 21;
+
+SELECT '-- dashboard: status filter' AS query;
+EXPLAIN ANALYZE
+SELECT r.id, rc.id, rc.image_url, rc.merchant_name, r.requested_amount, r.status, s.name, s.email, r.submitted_at
+FROM reimbursement_requests r
+JOIN receipts rc ON rc.id = r.receipt_id
+JOIN users s ON s.id = r.submitted_by
+LEFT JOIN users rv ON rv.id = r.reviewed_by
+WHERE r.status = 'APPROVED'
+ORDER BY r.submitted_at DESC, r.id DESC
+LIMIT 21;
+
+SELECT '-- dashboard: status count' AS query;
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM reimbursement_requests r WHERE r.status = 'PENDING';
+
+SELECT '-- my-requests: submitter' AS query;
+EXPLAIN ANALYZE
+SELECT r.id, rc.id, rc.image_url, rc.merchant_name, r.requested_amount, r.status, r.submitted_at
+FROM reimbursement_requests r
+JOIN receipts rc ON rc.id = r.receipt_id
+WHERE r.submitted_by = @employee
+ORDER BY r.submitted_at DESC, r.id DESC
+LIMIT 21;
+
+SELECT '-- my-requests: submitter and status' AS query;
+EXPLAIN ANALYZE
+SELECT r.id, rc.id, rc.image_url, rc.merchant_name, r.requested_amount, r.status, r.submitted_at
+FROM reimbursement_requests r
+JOIN receipts rc ON rc.id = r.receipt_id
+WHERE r.submitted_by = @employee AND r.status = 'PENDING'
+ORDER BY r.submitted_at DESC, r.id DESC
+LIMIT 21;
+
+SELECT '-- employees: name order' AS query;
+EXPLAIN ANALYZE
+SELECT u.id, u.name, u.email FROM users u ORDER BY u.name, u.id LIMIT 21;
+
+SELECT '-- employees: LIKE search' AS query;
+EXPLAIN ANALYZE
+SELECT u.id, u.name, u.email FROM users u
+WHERE LOWER(u.name) LIKE '%wijaya 12%' OR LOWER(u.email) LIKE '%wijaya 12%'
+ORDER BY u.name LIMIT 20;
+
+SELECT '-- employees: full-text search (after only)' AS query;
+EXPLAIN ANALYZE
+SELECT u.id, u.name, u.email FROM users u
+WHERE MATCH (u.name, u.email) AGAINST ('+wijaya* +12*' IN BOOLEAN MODE)
+ORDER BY u.name LIMIT 20;
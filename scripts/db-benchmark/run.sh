@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Captures EXPLAIN ANALYZE output for the hot queries without and with the
+# indexes from indexes.sql. Expects the docker-compose MySQL and a schema
+# the application has already created (start it once with JPA_DDL_AUTO=update).
+#
+#   scripts/db-benchmark/run.sh            # seed, then before/after plans
+#   SKIP_SEED=1 scripts/db-benchmark/run.sh
+set -euo pipefail
+
+cd "$(dirname "$0")"
+OUT=${OUT:-results}
+MYSQL=(docker exec -i receipthub-mysql mysql -uroot -p"${DB_ROOT_PASSWORD:-root123}" "${DB_NAME:-receipthub}")
+
+mkdir -p "$OUT"
+
+if [[ -z "${SKIP_SEED:-}" ]]; then
+    echo "Seeding 1M reimbursement requests..."
+    time "${MYSQL[@]}" < seed.sql
+fi
+
+echo "Dropping indexes..."
+"${MYSQL[@]}" < drop_indexes.sql
+# The full-text query fails without ft_users_name_email; --force runs the rest
+# and the error is kept in before.txt.
+"${MYSQL[@]}" --force < explain.sql > "$OUT/before.txt" 2>&1 || true
+
+echo "Creating indexes..."
+time "${MYSQL[@]}" < indexes.sql
+"${MYSQL[@]}" < explain.sql > "$OUT/after.txt"
+
+echo "Plans written to $OUT/before.txt and $OUT/after.txt"
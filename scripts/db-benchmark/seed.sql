@@ -0,0 +1,45 @@
+-- Seeds 10,000 employees and 1,000,000 receipts/reimbursement requests into
+-- an empty receipthub schema created by the application (ddl-auto=update).
+-- Rows are spread over ~3 years with a 60/25/15 pending/approved/rejected mix.
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+INSERT INTO users (name, email, password, role, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 10000)
+SELECT CONCAT(ELT(1 + n % 8, 'Andi', 'Budi', 'Citra', 'Dewi', 'Eko', 'Fitri', 'Gita', 'Hadi'),
+              ' ', ELT(1 + FLOOR(n / 8) % 6, 'Santoso', 'Wijaya', 'Pratama', 'Lestari', 'Saputra', 'Hidayat'),
+              ' ', n),
+       CONCAT('bench.user', n, '@receipthub.test'),
+       '{noop}bench',
+       IF(n % 100 = 0, 'ADMIN', 'EMPLOYEE'),
+       NOW() - INTERVAL (n % 1000) DAY
+FROM seq;
+
+INSERT INTO receipts (image_url, content_hash, merchant_name, amount, transaction_date, uploaded_at, ocr_status)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT CONCAT('bench/', n, '.jpg'),
+       SHA2(n, 256),
+       ELT(1 + n % 5, 'Indomaret', 'Alfamart', 'Starbucks', 'Shell', 'Grab'),
+       ROUND(10000 + (n * 7919) % 990000, 0),
+       NOW() - INTERVAL (n % 1095) DAY,
+       NOW() - INTERVAL (n % 1095) DAY,
+       'COMPLETED'
+FROM seq;
+
+SET @first_receipt = (SELECT MIN(id) FROM receipts WHERE image_url LIKE 'bench/%');
+SET @first_user = (SELECT MIN(id) FROM users WHERE email LIKE 'bench.user%');
+
+INSERT INTO reimbursement_requests (receipt_id, submitted_by, requested_amount, description, status,
+                                    submitted_at, reviewed_at, reviewed_by)
+SELECT r.id,
+       @first_user + (r.id * 31) % 10000,
+       r.amount,
+       'benchmark',
+       CASE WHEN r.id % 20 < 12 THEN 'PENDING' WHEN r.id % 20 < 17 THEN 'APPROVED' ELSE 'REJECTED' END,
+       r.uploaded_at + INTERVAL (r.id % 86400) SECOND,
+       IF(r.id % 20 < 12, NULL, r.uploaded_at + INTERVAL 1 DAY),
+       IF(r.id % 20 < 12, NULL, @first_user + 99)
+FROM receipts r
+WHERE r.id >= @first_receipt;
+
+ANALYZE TABLE users, receipts, reimbursement_requests;
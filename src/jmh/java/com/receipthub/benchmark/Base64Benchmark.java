@@ -0,0 +1,75 @@
+package com.receipthub.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.receipthub.service.PageCursor;
+
+/**
+ * Base64 work: the keyset cursors encoded and decoded on every listing page,
+ * and encoding a receipt image as the {@code base64Image} data URI that OCR
+ * uploads used before they switched to a binary multipart part. The image
+ * case is the reference for keeping that path off the hot path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Base64Benchmark {
+    
+    private PageCursor.Submitted position;
+    private String cursor;
+    
+    @State(Scope.Benchmark)
+    public static class Image {
+        
+        /** Typical compressed Telegram photo and a full-resolution scan. */
+        @Param({"262144", "2097152"})
+        private int imageBytes;
+        
+        private byte[] bytes;
+        
+        @Setup
+        public void createImage() {
+            bytes = new byte[imageBytes];
+            new Random(42).nextBytes(bytes);
+        }
+    }
+    
+    @Setup
+    public void createCursor() {
+        position = new PageCursor.Submitted(LocalDateTime.of(2025, 3, 1, 9, 41, 12, 123_456_000), 982_311L);
+        cursor = PageCursor.encode(position);
+    }
+    
+    @Benchmark
+    public String encodeCursor() {
+        return PageCursor.encode(position);
+    }
+    
+    @Benchmark
+    public PageCursor.Submitted decodeCursor() {
+        return PageCursor.decodeSubmitted(cursor);
+    }
+    
+    @Benchmark
+    public String encodeImageDataUri(Image image) {
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image.bytes);
+    }
+}
@@ -0,0 +1,79 @@
+package com.receipthub.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.receipthub.dto.DashboardStats;
+import com.receipthub.model.ReimbursementRequest.RequestStatus;
+import com.receipthub.model.ReimbursementStat;
+import com.receipthub.repository.ReimbursementStatRepository;
+import com.receipthub.service.DashboardStatsService;
+
+/**
+ * The aggregation behind the admin dashboard ({@code DashboardController.dashboard}):
+ * folding the materialized (month, status) buckets into the status totals and
+ * chart series. The repository is stubbed, so this measures only the
+ * in-memory work done per page view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardStatsBenchmark {
+    
+    @Param({"12", "60"})
+    private int months;
+    
+    private DashboardStatsService dashboardStatsService;
+    
+    @Setup
+    public void createBuckets() {
+        List<ReimbursementStat> buckets = new ArrayList<>(months * RequestStatus.values().length);
+        for (int i = 0; i < months; i++) {
+            int year = 2025 - i / 12;
+            int month = 12 - i % 12;
+            for (RequestStatus status : RequestStatus.values()) {
+                ReimbursementStat stat = new ReimbursementStat();
+                stat.setStatus(status);
+                stat.setStatYear(year);
+                stat.setStatMonth(month);
+                stat.setRequestCount(40L + i + status.ordinal());
+                stat.setTotalAmount(1_250_000.0 * (i + 1) + status.ordinal());
+                buckets.add(stat);
+            }
+        }
+        List<ReimbursementStat> result = List.copyOf(buckets);
+        
+        ReimbursementStatRepository repository = (ReimbursementStatRepository) Proxy.newProxyInstance(
+            ReimbursementStatRepository.class.getClassLoader(),
+            new Class<?>[] {ReimbursementStatRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findAllByOrderByStatYearDescStatMonthDesc")) {
+                    return result;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        dashboardStatsService = new DashboardStatsService(repository);
+    }
+    
+    @Benchmark
+    public DashboardStats dashboardStats() {
+        return dashboardStatsService.getDashboardStats();
+    }
+}
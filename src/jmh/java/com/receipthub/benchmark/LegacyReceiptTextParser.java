@@ -0,0 +1,139 @@
+package com.receipthub.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The parsing code {@code OcrService} used before {@code ReceiptTextParser},
+ * kept as the baseline for the parser benchmarks.
+ */
+final class LegacyReceiptTextParser {
+    
+    private static final Pattern AMOUNT_PATTERN = Pattern.compile(
+        "(?:SUB\\s+TOTAL|SUBTOTAL|TOTAL|AMOUNT|GRAND\\s+TOTAL|BALANCE\\s+DUE|TOTAL\\s+DUE|PAID)" +
+        "\\s*:?\\s*" +
+        "\\$?\\s*" +
+        "((?:[0-9]{1,3}(?:,\\s?[0-9]{3})*|[0-9]+)\\.?\\s?[0-9]{2})",
+        Pattern.CASE_INSENSITIVE
+    );
+    
+    private static final String MONTH_REGEX = "(?:Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*";
+    
+    private static final Pattern DATE_PATTERN = Pattern.compile(
+        "(\\d{1,2}[/.-]\\d{1,2}[/.-]\\d{2,4})|" +
+        "(\\d{4}[/.-]\\d{1,2}[/.-]\\d{1,2})|" +
+        "(" + MONTH_REGEX + "[\\s,.]+\\d{1,2}(?:st|nd|rd|th)?[\\s,.]+\\d{2,4})|" +
+        "(\\d{1,2}[\\s,.-]+" + MONTH_REGEX + "[\\s,.-]+\\d{2,4})",
+        Pattern.CASE_INSENSITIVE
+    );
+    
+    String extractMerchantName(String text) {
+        String[] lines = text.split("\\r?\\n");
+        
+        for (String line : lines) {
+            line = line.trim();
+            
+            if (line.matches("^[0-9\\s]+$") ||
+                    line.matches(".*\\d{2}[/-]\\d{2}[/-]\\d{2,4}.*") ||
+                    line.length() < 3) {
+                continue;
+            }
+            
+            if (line.toLowerCase().contains("store") ||
+                line.toLowerCase().contains("mart") ||
+                line.toLowerCase().contains("shop") ||
+                line.toLowerCase().contains("restaurant") ||
+                line.toLowerCase().contains("cafe") ||
+                line.toLowerCase().contains("market") ||
+                line.length() > 5) {
+                return line;
+            }
+        }
+        
+        for (String line : lines) {
+            line = line.trim();
+            if (line.length() > 3) {
+                return line;
+            }
+        }
+        
+        return "Unknown Merchant";
+    }
+    
+    Double extractAmount(String text) {
+        Matcher matcher = AMOUNT_PATTERN.matcher(text);
+        
+        double maxAmount = 0.0;
+        
+        while (matcher.find()) {
+            try {
+                String amountStr = matcher.group(1)
+                    .replace(" ", "")
+                    .replace(",", "");
+                double amount = Double.parseDouble(amountStr);
+                
+                if (amount > maxAmount) {
+                    maxAmount = amount;
+                }
+            } catch (NumberFormatException ignored) {
+            
+            }
+        }
+        
+        if (maxAmount == 0.0) {
+            Pattern fallbackPattern = Pattern.compile("([0-9]+\\.\\s?[0-9]{2})");
+            Matcher fallbackMatcher = fallbackPattern.matcher(text);
+            
+            while (fallbackMatcher.find()) {
+                try {
+                    String amountStr = fallbackMatcher.group(1).replace(" ", "");
+                    double amount = Double.parseDouble(amountStr);
+                    
+                    if (amount > maxAmount && amount < 10000) {
+                        maxAmount = amount;
+                    }
+                } catch (NumberFormatException ignored) {
+                
+                }
+            }
+        }
+        
+        return maxAmount > 0 ? maxAmount : 0.0;
+    }
+    
+    LocalDateTime extractDate(String text) {
+        Matcher matcher = DATE_PATTERN.matcher(text);
+        
+        if (matcher.find()) {
+            String dateStr = matcher.group(0);
+            
+            List<DateTimeFormatter> formatters = List.of(
+                DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+                DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+                DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+                DateTimeFormatter.ofPattern("MM-dd-yyyy"),
+                DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+                DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+                DateTimeFormatter.ofPattern("dd/MM/yy"),
+                DateTimeFormatter.ofPattern("dd-MM-yy"),
+                DateTimeFormatter.ofPattern("MM/dd/yy"),
+                DateTimeFormatter.ofPattern("MM-dd-yy")
+            );
+            
+            for (DateTimeFormatter formatter : formatters) {
+                try {
+                    return LocalDateTime.of(
+                        java.time.LocalDate.parse(dateStr, formatter),
+                        java.time.LocalTime.now()
+                    );
+                } catch (Exception e) {
+                }
+            }
+        }
+        
+        return LocalDateTime.now();
+    }
+}
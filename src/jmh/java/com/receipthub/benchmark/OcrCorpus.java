@@ -0,0 +1,34 @@
+package com.receipthub.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * OCR outputs used as benchmark input. Receipts in a corpus file are
+ * separated by a line containing only {@code =====}.
+ */
+final class OcrCorpus {
+    
+    private static final String SEPARATOR = "\n=====\n";
+    
+    private OcrCorpus() {
+    }
+    
+    static List<String> load(String resource) {
+        try (InputStream in = OcrCorpus.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Corpus not found: " + resource);
+            }
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return Arrays.stream(content.split(SEPARATOR))
+                .filter(receipt -> !receipt.isBlank())
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.receipthub.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.receipthub.service.ocr.ReceiptTextParser;
+
+/**
+ * Merchant, amount and date extraction over an OCR corpus, with the current
+ * parser and with the pre-{@link ReceiptTextParser} code. Scores are per
+ * receipt. Run with {@code ./mvnw -Pbenchmark compile exec:exec}; add
+ * {@code -Djmh.args="ReceiptTextParser -prof gc"} for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiptTextParserBenchmark {
+    
+    /** {@code receipts}: hand-picked OCR outputs; {@code synthetic}: the generated corpus. */
+    @Param({"receipts", "synthetic"})
+    private String corpusName;
+    
+    private final ReceiptTextParser parser = new ReceiptTextParser();
+    private final LegacyReceiptTextParser legacyParser = new LegacyReceiptTextParser();
+    
+    private String[] corpus;
+    private int next;
+    
+    @Setup
+    public void loadCorpus() {
+        List<String> receipts = OcrCorpus.load("/ocr-corpus/" + corpusName + ".txt");
+        corpus = receipts.toArray(String[]::new);
+    }
+    
+    /**
+     * Cycles through the corpus so every invocation parses one receipt.
+     */
+    private String nextReceipt() {
+        String receipt = corpus[next];
+        next = next + 1 == corpus.length ? 0 : next + 1;
+        return receipt;
+    }
+    
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        String text = nextReceipt();
+        blackhole.consume(parser.extractMerchantName(text));
+        blackhole.consume(parser.extractAmount(text));
+        blackhole.consume(parser.extractDate(text));
+    }
+    
+    @Benchmark
+    public void parseLegacy(Blackhole blackhole) {
+        String text = nextReceipt();
+        blackhole.consume(legacyParser.extractMerchantName(text));
+        blackhole.consume(legacyParser.extractAmount(text));
+        blackhole.consume(legacyParser.extractDate(text));
+    }
+    
+    @Benchmark
+    public String merchant() {
+        return parser.extractMerchantName(nextReceipt());
+    }
+    
+    @Benchmark
+    public String merchantLegacy() {
+        return legacyParser.extractMerchantName(nextReceipt());
+    }
+    
+    @Benchmark
+    public Double amount() {
+        return parser.extractAmount(nextReceipt());
+    }
+    
+    @Benchmark
+    public Double amountLegacy() {
+        return legacyParser.extractAmount(nextReceipt());
+    }
+    
+    @Benchmark
+    public Object date() {
+        return parser.extractDate(nextReceipt());
+    }
+    
+    @Benchmark
+    public Object dateLegacy() {
+        return legacyParser.extractDate(nextReceipt());
+    }
+}
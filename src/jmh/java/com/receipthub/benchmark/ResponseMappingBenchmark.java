@@ -0,0 +1,105 @@
+package com.receipthub.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.receipthub.dto.ReimbursementResponse;
+import com.receipthub.model.Receipt;
+import com.receipthub.model.ReimbursementRequest;
+import com.receipthub.model.User;
+
+/**
+ * Mapping one listing page to {@link ReimbursementResponse}s, from entities
+ * ({@code ReimbursementService.convertToResponse}) and through the JPQL
+ * projection constructor the listing queries use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+    
+    @Param({"10", "50"})
+    private int pageSize;
+    
+    private List<ReimbursementRequest> entities;
+    
+    @Setup
+    public void createPage() {
+        User employee = user(1L, "Budi Santoso", "budi@receipthub.test");
+        User admin = user(2L, "Admin", "admin@receipthub.test");
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 9, 0);
+        
+        entities = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Receipt receipt = new Receipt();
+            receipt.setId((long) i);
+            receipt.setImageUrl("3f6c2b1e9a" + i + ".jpg");
+            receipt.setMerchantName("INDOMARET " + i);
+            receipt.setAmount(25_000.0 + i);
+            receipt.setTransactionDate(now.minusDays(i));
+            
+            ReimbursementRequest request = new ReimbursementRequest();
+            request.setId((long) i);
+            request.setReceipt(receipt);
+            request.setSubmittedBy(employee);
+            request.setRequestedAmount(receipt.getAmount());
+            request.setDescription("Client meeting " + i);
+            request.setSubmittedAt(now.minusHours(i));
+            if (i % 2 == 0) {
+                request.setStatus(ReimbursementRequest.RequestStatus.APPROVED);
+                request.setReviewedBy(admin);
+                request.setReviewedAt(now);
+                request.setReviewNotes("OK");
+            } else {
+                request.setStatus(ReimbursementRequest.RequestStatus.PENDING);
+            }
+            entities.add(request);
+        }
+    }
+    
+    @Benchmark
+    public void fromEntity(Blackhole blackhole) {
+        for (ReimbursementRequest request : entities) {
+            blackhole.consume(ReimbursementResponse.from(request));
+        }
+    }
+    
+    @Benchmark
+    public void fromProjection(Blackhole blackhole) {
+        for (ReimbursementRequest r : entities) {
+            Receipt rc = r.getReceipt();
+            blackhole.consume(new ReimbursementResponse(
+                r.getId(), rc.getId(), rc.getImageUrl(), rc.getMerchantName(), r.getRequestedAmount(),
+                r.getDescription(), r.getStatus(), r.getSubmittedBy().getName(), r.getSubmittedBy().getEmail(),
+                r.getSubmittedAt(), rc.getTransactionDate(), r.getReviewedAt(),
+                r.getReviewedBy() != null ? r.getReviewedBy().getName() : null, r.getReviewNotes()));
+        }
+    }
+    
+    private static User user(Long id, String name, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(User.UserRole.EMPLOYEE);
+        return user;
+    }
+}
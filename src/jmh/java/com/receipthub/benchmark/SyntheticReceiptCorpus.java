@@ -0,0 +1,116 @@
+package com.receipthub.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates {@code ocr-corpus/synthetic.txt}: receipts in the layouts seen in
+ * production (Indonesian minimarkets, cafes, fuel, ride hailing, US-style
+ * diners) with OCR noise such as spaced-out letters, stray symbols and mixed
+ * line endings. The seed is fixed, so running {@link #main} from the project
+ * root reproduces the checked-in file.
+ */
+public final class SyntheticReceiptCorpus {
+    
+    static final String RESOURCE = "/ocr-corpus/synthetic.txt";
+    
+    private static final long SEED = 20250101L;
+    private static final int RECEIPTS = 400;
+    
+    private static final String[] MERCHANTS = {
+        "INDOMARET", "ALFAMART", "Alfamidi", "STARBUCKS COFFEE", "Kopi Kenangan", "Shell", "PERTAMINA",
+        "GRAB", "Gojek", "THE COFFEE SHOP", "Hero Supermarket", "Warung Padang Sederhana",
+        "HOTEL SANTIKA", "Apotek K-24", "Lawson", "FamilyMart", "Toko Buku Gramedia", "KFC"
+    };
+    private static final String[] ITEMS = {
+        "AQUA 600ML", "INDOMIE GRG", "TEH PUCUK", "Caffe Latte", "Croissant", "Shell Super", "Pertalite",
+        "Nasi Rendang", "Es Teh Manis", "Paracetamol", "Notebook A5", "Ayam Goreng", "Parking", "Toll"
+    };
+    private static final String[] TOTAL_LABELS = {"TOTAL", "Total", "GRAND TOTAL", "AMOUNT", "SUB TOTAL", "BALANCE DUE", "JUMLAH"};
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    
+    private SyntheticReceiptCorpus() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Path target = Path.of(args.length > 0 ? args[0] : "src/jmh/resources" + RESOURCE);
+        Files.writeString(target, String.join("\n=====\n", generate()) + "\n", StandardCharsets.UTF_8);
+    }
+    
+    static List<String> generate() {
+        Random random = new Random(SEED);
+        List<String> receipts = new ArrayList<>(RECEIPTS);
+        for (int i = 0; i < RECEIPTS; i++) {
+            receipts.add(receipt(random));
+        }
+        return receipts;
+    }
+    
+    private static String receipt(Random random) {
+        StringBuilder receipt = new StringBuilder();
+        String lineEnd = random.nextInt(5) == 0 ? "\r\n" : "\n";
+        
+        if (random.nextInt(8) == 0) {
+            receipt.append(String.format("%07d", random.nextInt(10_000_000))).append(lineEnd);
+        }
+        String merchant = MERCHANTS[random.nextInt(MERCHANTS.length)];
+        if (random.nextInt(10) == 0) {
+            merchant = String.join(" ", merchant.split(""));
+        }
+        receipt.append(random.nextBoolean() ? "  " : "").append(merchant).append(lineEnd);
+        receipt.append("Jl. ").append(ITEMS[random.nextInt(ITEMS.length)]).append(" No. ")
+            .append(1 + random.nextInt(200)).append(lineEnd);
+        receipt.append(date(random)).append(' ')
+            .append(String.format("%02d:%02d", random.nextInt(24), random.nextInt(60))).append(lineEnd);
+        
+        boolean thousands = random.nextBoolean();
+        double total = 0;
+        int items = 1 + random.nextInt(12);
+        for (int i = 0; i < items; i++) {
+            int quantity = 1 + random.nextInt(3);
+            double price = thousands ? 1000 * (1 + random.nextInt(150)) : (100 + random.nextInt(4000)) / 100.0;
+            total += quantity * price;
+            receipt.append(String.format(Locale.ROOT, "%-18s %2d %12s", ITEMS[random.nextInt(ITEMS.length)],
+                quantity, amount(quantity * price, thousands))).append(lineEnd);
+            if (random.nextInt(15) == 0) {
+                receipt.append("~ .' ,").append(lineEnd);
+            }
+        }
+        
+        String label = TOTAL_LABELS[random.nextInt(TOTAL_LABELS.length)];
+        receipt.append(String.format(Locale.ROOT, "%-18s %s%s", label + (random.nextBoolean() ? " :" : ""),
+            random.nextInt(4) == 0 ? "$" : "", amount(total, thousands))).append(lineEnd);
+        if (random.nextBoolean()) {
+            receipt.append(String.format(Locale.ROOT, "%-18s %s", "PAID", amount(Math.ceil(total / 10000) * 10000, thousands)))
+                .append(lineEnd);
+        }
+        receipt.append(random.nextBoolean() ? "Terima kasih" : "Thank you for visiting!").append(lineEnd);
+        return receipt.toString().stripTrailing();
+    }
+    
+    private static String date(Random random) {
+        int year = 2023 + random.nextInt(3);
+        int month = 1 + random.nextInt(12);
+        int day = 1 + random.nextInt(28);
+        return switch (random.nextInt(6)) {
+            case 0 -> String.format("%02d/%02d/%d", day, month, year);
+            case 1 -> String.format("%02d-%02d-%02d", day, month, year % 100);
+            case 2 -> String.format("%d-%02d-%02d", year, month, day);
+            case 3 -> String.format("%02d.%02d.%d", day, month, year);
+            case 4 -> String.format("%s %d, %d", MONTHS[month - 1], day, year);
+            default -> String.format("%d %s %d", day, MONTHS[month - 1], year);
+        };
+    }
+    
+    private static String amount(double value, boolean thousands) {
+        return thousands
+            ? String.format(Locale.ROOT, "%,.0f", value)
+            : String.format(Locale.ROOT, "%,.2f", value);
+    }
+}
@@ -1,7 +1,11 @@
 package com.receipthub.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -11,6 +15,15 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @EnableAsync
 public class AsyncConfig {
     
+    @Value("${ocr.worker.core-size}")
+    private int ocrCoreSize;
+    
+    @Value("${ocr.worker.max-size}")
+    private int ocrMaxSize;
+    
+    @Value("${ocr.worker.queue-capacity}")
+    private int ocrQueueCapacity;
+    
     @Bean(name = "taskExecutor")
     public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -21,4 +34,32 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+    
+    /**
+     * Dedicated OCR worker pool, sized independently of bot intake.
+     * When the queue is full the submitting thread runs the job itself,
+     * which slows intake down instead of dropping receipts.
+     */
+    @Bean(name = "ocrExecutor")
+    public ThreadPoolTaskExecutor ocrExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ocrCoreSize);
+        executor.setMaxPoolSize(ocrMaxSize);
+        executor.setQueueCapacity(ocrQueueCapacity);
+        executor.setThreadNamePrefix("ocr-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Executor for Telegram update handling. Handlers mostly wait on the
+     * database, MinIO and the Bot API, so each update gets a virtual thread.
+     */
+    @Bean(name = "telegramUpdateExecutor", destroyMethod = "close")
+    public ExecutorService telegramUpdateExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tg-update-", 0).factory());
+    }
 }
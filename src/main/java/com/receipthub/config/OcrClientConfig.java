@@ -0,0 +1,87 @@
+package com.receipthub.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared HTTP client for the OCR API. Connections are pooled and kept alive
+ * between calls so sustained OCR traffic reuses TCP/TLS sessions, and every
+ * phase of a request is bounded by a timeout.
+ */
+@Configuration
+@Slf4j
+public class OcrClientConfig {
+    
+    @Value("${ocr.http.max-connections}")
+    private int maxConnections;
+    
+    @Value("${ocr.http.connect-timeout-ms}")
+    private long connectTimeoutMs;
+    
+    @Value("${ocr.http.read-timeout-ms}")
+    private long readTimeoutMs;
+    
+    @Value("${ocr.http.pool-acquire-timeout-ms}")
+    private long poolAcquireTimeoutMs;
+    
+    @Value("${ocr.http.keep-alive-seconds}")
+    private long keepAliveSeconds;
+    
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager ocrConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+    
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient ocrHttpClient(PoolingHttpClientConnectionManager ocrConnectionManager) {
+        log.info("Initializing OCR HTTP client (max connections: {}, read timeout: {} ms)", maxConnections, readTimeoutMs);
+        return HttpClients.custom()
+                .setConnectionManager(ocrConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setConnectionKeepAlive(TimeValue.of(keepAliveSeconds, TimeUnit.SECONDS))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAliveSeconds, TimeUnit.SECONDS))
+                .build();
+    }
+    
+    @Bean
+    public RestTemplate ocrRestTemplate(CloseableHttpClient ocrHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(ocrHttpClient));
+    }
+    
+    /**
+     * Publishes pool usage as {@code httpcomponents.httpclient.pool.*} meters tagged {@code httpclient=ocr}.
+     */
+    @Bean
+    public MeterBinder ocrConnectionPoolMetrics(PoolingHttpClientConnectionManager ocrConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(ocrConnectionManager, "ocr");
+    }
+}
@@ -0,0 +1,49 @@
+package com.receipthub.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import com.receipthub.service.ReceiptTraceRecorder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/receipttraces} lists recently traced receipts, and
+ * {@code /actuator/receipttraces/{receiptId}} returns the spans recorded for
+ * one of them.
+ */
+@Component
+@Endpoint(id = "receipttraces")
+@RequiredArgsConstructor
+public class ReceiptTraceEndpoint {
+    
+    private static final int RECENT_RECEIPTS = 50;
+    
+    private final ReceiptTraceRecorder recorder;
+    
+    public record ReceiptTrace(Long receiptId, Duration totalDuration, List<ReceiptTraceRecorder.RecordedSpan> spans) {
+    }
+    
+    @ReadOperation
+    public List<Long> recentReceipts() {
+        return recorder.getRecentReceipts(RECENT_RECEIPTS);
+    }
+    
+    @ReadOperation
+    public ReceiptTrace receiptTrace(@Selector Long receiptId) {
+        List<ReceiptTraceRecorder.RecordedSpan> spans = recorder.getTrace(receiptId);
+        if (spans.isEmpty()) {
+            return null;
+        }
+        Duration total = spans.stream()
+            .filter(span -> span.parentSpanId() == null)
+            .map(ReceiptTraceRecorder.RecordedSpan::duration)
+            .reduce(Duration.ZERO, Duration::plus);
+        return new ReceiptTrace(receiptId, total, spans);
+    }
+}
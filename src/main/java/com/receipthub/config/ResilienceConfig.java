@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Configuration;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
 
 @Configuration
 public class ResilienceConfig {
@@ -26,13 +27,24 @@ public class ResilienceConfig {
         
         CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
         
-        registry.circuitBreaker("ocrService").getEventPublisher()
+        registry.getEventPublisher().onEntryAdded(added -> added.getAddedEntry().getEventPublisher()
             .onStateTransition(event -> 
-                log.warn("Circuit Breaker: {} → {}", 
+                log.warn("Circuit Breaker {}: {} → {}", 
+                    event.getCircuitBreakerName(),
                     event.getStateTransition().getFromState(),
                     event.getStateTransition().getToState())
-            );
+            ));
         
         return registry;
     }
+    
+    /**
+     * Publishes state, call and failure-rate meters for the breakers above;
+     * the auto-configured binder only covers the registry Resilience4j
+     * creates itself.
+     */
+    @Bean
+    public TaggedCircuitBreakerMetrics circuitBreakerMetrics(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+    }
 }
@@ -2,12 +2,16 @@ package com.receipthub.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import com.receipthub.controller.TelegramWebhookController;
 import com.receipthub.service.AuthService;
 
 import lombok.RequiredArgsConstructor;
@@ -24,14 +28,38 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * Prometheus scrapes with HTTP Basic and no session, so a scraper never
+     * takes the single session slot of an admin logged in with the same account.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain prometheusFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/prometheus")
+            .userDetailsService(authService)
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("ADMIN"))
+            .httpBasic(Customizer.withDefaults())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .userDetailsService(authService) // Use database authentication
+            .csrf(csrf -> csrf
+                .ignoringRequestMatchers(TelegramWebhookController.WEBHOOK_PATH) // Authenticated by secret token
+            )
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/login", "/css/**", "/js/**", "/images/**").permitAll()
+                .requestMatchers(TelegramWebhookController.WEBHOOK_PATH).permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/dashboard", "/dashboard/**").hasRole("ADMIN")
-                .requestMatchers("/my-requests").hasAnyRole("EMPLOYEE")
+                .requestMatchers("/my-requests", "/my-requests/**").hasAnyRole("EMPLOYEE")
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
@@ -0,0 +1,34 @@
+package com.receipthub.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.receipthub.service.StorageBucketProvisioner;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reports whether the receipt bucket has been provisioned. Part of the
+ * readiness group so traffic is only routed once uploads can succeed.
+ */
+@Component("storage")
+@RequiredArgsConstructor
+public class StorageHealthIndicator implements HealthIndicator {
+    
+    private final StorageBucketProvisioner provisioner;
+    
+    @Override
+    public Health health() {
+        if (provisioner.isReady()) {
+            return Health.up()
+                .withDetail("bucket", provisioner.getBucketName())
+                .build();
+        }
+        Health.Builder builder = Health.outOfService().withDetail("bucket", provisioner.getBucketName());
+        if (provisioner.getLastError() != null) {
+            builder.withDetail("error", provisioner.getLastError());
+        }
+        return builder.build();
+    }
+}
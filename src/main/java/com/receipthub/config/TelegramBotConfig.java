@@ -2,15 +2,24 @@ package com.receipthub.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
+import org.telegram.telegrambots.meta.api.methods.updates.SetWebhook;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 
 import com.receipthub.service.TelegramBotService;
 
+/**
+ * Connects the bot to Telegram. {@code telegram.bot.mode=polling} (default)
+ * uses a long-polling session, which allows only one consumer per bot token;
+ * {@code webhook} registers {@code telegram.bot.webhook.url} instead and
+ * updates arrive through the webhook controller on every replica.
+ */
 @Configuration
 @ConditionalOnProperty(name = "telegram.bot.enabled", havingValue = "true", matchIfMissing = false)
 public class TelegramBotConfig {
@@ -18,10 +27,28 @@ public class TelegramBotConfig {
     private static final Logger log = LoggerFactory.getLogger(TelegramBotConfig.class);
     
     @Bean
+    @ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "polling", matchIfMissing = true)
     public TelegramBotsApi telegramBotsApi(TelegramBotService telegramBotService) throws TelegramApiException {
         TelegramBotsApi botsApi = new TelegramBotsApi(DefaultBotSession.class);
         botsApi.registerBot(telegramBotService);
         log.info("Telegram Bot registered successfully");
         return botsApi;
     }
+    
+    @Bean
+    @ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "webhook")
+    public ApplicationRunner telegramWebhookRegistration(
+            TelegramBotService telegramBotService,
+            @Value("${telegram.bot.webhook.url}") String webhookUrl,
+            @Value("${telegram.bot.webhook.secret-token}") String secretToken,
+            @Value("${telegram.bot.webhook.max-connections}") int maxConnections) {
+        return args -> {
+            telegramBotService.execute(SetWebhook.builder()
+                .url(webhookUrl)
+                .secretToken(secretToken)
+                .maxConnections(maxConnections)
+                .build());
+            log.info("Telegram webhook registered: {}", webhookUrl);
+        };
+    }
 }
@@ -1,12 +1,7 @@
 package com.receipthub.controller;
 
 import java.security.Principal;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 import org.springframework.data.domain.Page;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,9 +11,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.receipthub.dto.DashboardStats;
 import com.receipthub.dto.ReimbursementResponse;
+import com.receipthub.dto.UserIdentity;
 import com.receipthub.model.ReimbursementRequest;
 import com.receipthub.model.User;
+import com.receipthub.service.DashboardStatsService;
 import com.receipthub.service.ReimbursementService;
 import com.receipthub.service.UserService;
 
@@ -29,6 +27,7 @@ import lombok.RequiredArgsConstructor;
 public class DashboardController {
     
     private final ReimbursementService reimbursementService;
+    private final DashboardStatsService dashboardStatsService;
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     
@@ -38,12 +37,12 @@ public class DashboardController {
             return "redirect:/login";
         }
         
-        User user = userService.getUserByEmail(principal.getName()).orElse(null);
+        UserIdentity user = userService.getUserByEmail(principal.getName()).orElse(null);
         if (user == null) {
             return "redirect:/login";
         }
         
-        if (user.getRole() == User.UserRole.ADMIN) {
+        if (user.role() == User.UserRole.ADMIN) {
             return "redirect:/dashboard";
         } else {
             return "redirect:/my-requests";
@@ -61,7 +60,7 @@ public class DashboardController {
             Model model) {
         
 
-        User user = userService.getUserByEmail(principal.getName())
+        UserIdentity user = userService.getUserByEmail(principal.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
     model.addAttribute("currentUser", user);
@@ -87,7 +86,6 @@ public class DashboardController {
         }
 
 
-        List<ReimbursementResponse> allReimbursements = reimbursementService.getAllReimbursements(0, Integer.MAX_VALUE).getContent();
         Page<ReimbursementResponse> reimbursementPage;
         if ("ALL".equals(status)) {
             reimbursementPage = reimbursementService.getAllReimbursements(page, size);
@@ -105,74 +103,18 @@ public class DashboardController {
         int totalPages = reimbursementPage.getTotalPages();
         long totalItems = reimbursementPage.getTotalElements();
         
+        DashboardStats stats = dashboardStatsService.getDashboardStats();
 
-        long pendingCount = allReimbursements.stream()
-                .filter(r -> "PENDING".equals(r.getStatus()))
-                .count();
-        long approvedCount = allReimbursements.stream()
-            .filter(r -> "APPROVED".equals(r.getStatus()))
-            .count();
-        long rejectedCount = allReimbursements.stream()
-            .filter(r -> "REJECTED".equals(r.getStatus()))
-            .count();
-        
-        double totalAmount = allReimbursements.stream()
-            .filter(r -> "APPROVED".equals(r.getStatus()))
-            .map(ReimbursementResponse::getRequestedAmount)
-            .filter(Objects::nonNull)
-            .reduce(0.0, Double::sum);
-        totalAmount = Math.round(totalAmount * 100.0) / 100.0;
-        
-        double totalPendingAmount = allReimbursements.stream()
-            .filter(r -> "PENDING".equals(r.getStatus()))
-            .map(ReimbursementResponse::getRequestedAmount)
-            .filter(Objects::nonNull)
-            .reduce(0.0, Double::sum);
-        totalPendingAmount = Math.round(totalPendingAmount * 100.0) / 100.0;
-        Map<String, Double> monthlyTotalRequested = new LinkedHashMap<>();
-        Map<String, Double> monthlyApproved = new LinkedHashMap<>();
-        Map<String, Double> monthlyRejected = new LinkedHashMap<>();
-        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM yyyy");
-        for (ReimbursementResponse r : allReimbursements) {
-            if (r.getSubmittedAt() == null || r.getRequestedAmount() == null) {
-                continue;
-            }
-            
-            String monthKey = r.getSubmittedAt().format(monthFormatter);
-            
-
-            monthlyTotalRequested.put(monthKey, 
-                monthlyTotalRequested.getOrDefault(monthKey, 0.0) + r.getRequestedAmount());
-            
-
-            if ("APPROVED".equals(r.getStatus())) {
-                monthlyApproved.put(monthKey, 
-                    monthlyApproved.getOrDefault(monthKey, 0.0) + r.getRequestedAmount());
-            }
-            
-
-            if ("REJECTED".equals(r.getStatus())) {
-                monthlyRejected.put(monthKey, 
-                    monthlyRejected.getOrDefault(monthKey, 0.0) + r.getRequestedAmount());
-            }
-        }
-        
-
-        for (String monthKey : monthlyTotalRequested.keySet()) {
-            monthlyApproved.putIfAbsent(monthKey, 0.0);
-            monthlyRejected.putIfAbsent(monthKey, 0.0);
-        }
-
-        model.addAttribute("totalRequest", allReimbursements.size());
+        model.addAttribute("totalRequest", stats.getTotalRequest());
         model.addAttribute("reimbursements", reimbursements);
         model.addAttribute("status", status);
-        model.addAttribute("pendingCount", pendingCount);
-        model.addAttribute("approvedCount", approvedCount);
-        model.addAttribute("rejectedCount", rejectedCount);
+        model.addAttribute("pendingCount", stats.getPendingCount());
+        model.addAttribute("approvedCount", stats.getApprovedCount());
+        model.addAttribute("rejectedCount", stats.getRejectedCount());
 
-        model.addAttribute("totalAmount", totalAmount);
-        model.addAttribute("totalPendingAmount", totalPendingAmount);
-        model.addAttribute("totalAmountRequested",totalAmount);
+        model.addAttribute("totalAmount", stats.getTotalApprovedAmount());
+        model.addAttribute("totalPendingAmount", stats.getTotalPendingAmount());
+        model.addAttribute("totalAmountRequested", stats.getTotalApprovedAmount());
         
 
         model.addAttribute("currentPage", page);
@@ -181,10 +123,10 @@ public class DashboardController {
         model.addAttribute("totalItems", totalItems);
         
 
-        model.addAttribute("chartMonths", new ArrayList<>(monthlyTotalRequested.keySet()));
-        model.addAttribute("chartTotalRequested", new ArrayList<>(monthlyTotalRequested.values()));
-        model.addAttribute("chartApproved", new ArrayList<>(monthlyApproved.values()));
-        model.addAttribute("chartRejected", new ArrayList<>(monthlyRejected.values()));
+        model.addAttribute("chartMonths", stats.getChartMonths());
+        model.addAttribute("chartTotalRequested", stats.getChartTotalRequested());
+        model.addAttribute("chartApproved", stats.getChartApproved());
+        model.addAttribute("chartRejected", stats.getChartRejected());
         
         return "main";
     }
@@ -231,7 +173,7 @@ public class DashboardController {
             return "redirect:/dashboard?tab=employees&error=invalid_phone";
         }
         
-        User user = userService.getUserById(id);
+        User user = new User();
         user.setName(name);
         user.setEmail(email);
         user.setPhoneNumber(phoneNumber != null && !phoneNumber.trim().isEmpty() ? phoneNumber.trim() : null);
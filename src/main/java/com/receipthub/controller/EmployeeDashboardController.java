@@ -8,8 +8,10 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.receipthub.dto.EmployeeStats;
 import com.receipthub.dto.ReimbursementResponse;
-import com.receipthub.model.User;
+import com.receipthub.dto.UserIdentity;
+import com.receipthub.service.EmployeeStatsService;
 import com.receipthub.service.ReimbursementService;
 import com.receipthub.service.UserService;
 
@@ -21,6 +23,7 @@ public class EmployeeDashboardController {
     
     private final ReimbursementService reimbursementService;
     private final UserService userService;
+    private final EmployeeStatsService employeeStatsService;
     
     @GetMapping("/my-requests")
     public String myRequests(
@@ -30,25 +33,19 @@ public class EmployeeDashboardController {
             Principal principal,
             Model model) {
 
-        User currentEmployee = userService.getUserByEmail(principal.getName()).orElseThrow();
+        UserIdentity currentEmployee = userService.getUserByEmail(principal.getName()).orElseThrow();
         model.addAttribute("currentUser", currentEmployee);
         model.addAttribute("pageTitle", "My Requests");
 
         Page<ReimbursementResponse> reimbursementPage;
         if ("ALL".equals(status)) {
-            reimbursementPage = reimbursementService.getReimbursementsByUserId(currentEmployee.getId(), page, size);
+            reimbursementPage = reimbursementService.getReimbursementsByUserId(currentEmployee.id(), page, size);
         } else {
             reimbursementPage = reimbursementService.getReimbursementsByUserIdAndStatus(
-                currentEmployee.getId(), status, page, size);
+                currentEmployee.id(), status, page, size);
         }
         
-
-        long pendingCount = reimbursementService.getReimbursementsByUserIdAndStatus(
-            currentEmployee.getId(), "PENDING", 0, Integer.MAX_VALUE).getTotalElements();
-        long approvedCount = reimbursementService.getReimbursementsByUserIdAndStatus(
-            currentEmployee.getId(), "APPROVED", 0, Integer.MAX_VALUE).getTotalElements();
-        long rejectedCount = reimbursementService.getReimbursementsByUserIdAndStatus(
-            currentEmployee.getId(), "REJECTED", 0, Integer.MAX_VALUE).getTotalElements();
+        EmployeeStats stats = employeeStatsService.getStats(currentEmployee.id());
         
         model.addAttribute("reimbursements", reimbursementPage.getContent());
         model.addAttribute("currentPage", page);
@@ -56,11 +53,11 @@ public class EmployeeDashboardController {
         model.addAttribute("totalItems", reimbursementPage.getTotalElements());
         model.addAttribute("pageSize", size);
         model.addAttribute("status", status);
-        model.addAttribute("pendingCount", pendingCount);
-        model.addAttribute("approvedCount", approvedCount);
-        model.addAttribute("rejectedCount", rejectedCount);
-        model.addAttribute("totalRequest", reimbursementPage.getTotalElements());
-        model.addAttribute("employeeName", currentEmployee.getName());
+        model.addAttribute("pendingCount", stats.getPendingCount());
+        model.addAttribute("approvedCount", stats.getApprovedCount());
+        model.addAttribute("rejectedCount", stats.getRejectedCount());
+        model.addAttribute("totalRequest", stats.getTotalRequest());
+        model.addAttribute("employeeName", currentEmployee.name());
         
         return "main";
     }
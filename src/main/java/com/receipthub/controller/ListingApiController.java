@@ -0,0 +1,77 @@
+package com.receipthub.controller;
+
+import java.security.Principal;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.receipthub.dto.CursorPage;
+import com.receipthub.dto.EmployeeResponse;
+import com.receipthub.dto.ReimbursementResponse;
+import com.receipthub.dto.UserIdentity;
+import com.receipthub.model.ReimbursementRequest;
+import com.receipthub.service.ReimbursementService;
+import com.receipthub.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cursor-paginated JSON listings. Pass the returned {@code nextCursor} to get
+ * the next page; add {@code count=true} only when a total is needed, since
+ * counting scans the whole filtered set.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ListingApiController {
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    private final ReimbursementService reimbursementService;
+    private final UserService userService;
+    
+    @GetMapping("/dashboard/api/reimbursements")
+    public CursorPage<ReimbursementResponse> reimbursements(
+            @RequestParam(required = false, defaultValue = "ALL") String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean count) {
+        return reimbursementService.getReimbursementsPage(parseStatus(status), null, cursor, pageSize(size), count);
+    }
+    
+    @GetMapping("/dashboard/api/employees")
+    public CursorPage<EmployeeResponse> employees(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean count) {
+        return userService.getUsersPage(search, cursor, pageSize(size), count);
+    }
+    
+    @GetMapping("/my-requests/api/reimbursements")
+    public CursorPage<ReimbursementResponse> myReimbursements(
+            @RequestParam(required = false, defaultValue = "ALL") String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean count,
+            Principal principal) {
+        UserIdentity currentEmployee = userService.getUserByEmail(principal.getName()).orElseThrow();
+        return reimbursementService.getReimbursementsPage(
+            parseStatus(status), currentEmployee.id(), cursor, pageSize(size), count);
+    }
+    
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+    
+    private ReimbursementRequest.RequestStatus parseStatus(String status) {
+        return "ALL".equals(status) ? null : ReimbursementRequest.RequestStatus.valueOf(status);
+    }
+    
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
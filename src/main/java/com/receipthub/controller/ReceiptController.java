@@ -0,0 +1,22 @@
+package com.receipthub.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.receipthub.dto.OcrStatusResponse;
+import com.receipthub.service.ReceiptService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class ReceiptController {
+    
+    private final ReceiptService receiptService;
+    
+    @GetMapping("/dashboard/receipts/{id}/ocr-status")
+    public OcrStatusResponse ocrStatus(@PathVariable Long id) {
+        return receiptService.getOcrStatus(id);
+    }
+}
@@ -0,0 +1,60 @@
+package com.receipthub.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import com.receipthub.service.TelegramBotService;
+
+/**
+ * Receives bot updates pushed by Telegram when {@code telegram.bot.mode} is
+ * {@code webhook}. The update is handed to the bot's dispatcher and the
+ * request returns immediately, so any replica behind the load balancer can
+ * take traffic and slow handlers never hold up Telegram's delivery.
+ */
+@RestController
+@ConditionalOnExpression("${telegram.bot.enabled:false} and '${telegram.bot.mode:polling}' == 'webhook'")
+public class TelegramWebhookController {
+    
+    public static final String WEBHOOK_PATH = "/telegram/webhook";
+    static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+    
+    private static final Logger log = LoggerFactory.getLogger(TelegramWebhookController.class);
+    
+    private final TelegramBotService telegramBotService;
+    private final byte[] secretToken;
+    
+    public TelegramWebhookController(
+            TelegramBotService telegramBotService,
+            @Value("${telegram.bot.webhook.secret-token}") String secretToken) {
+        if (secretToken == null || secretToken.isBlank()) {
+            throw new IllegalStateException("telegram.bot.webhook.secret-token must be set in webhook mode");
+        }
+        this.telegramBotService = telegramBotService;
+        this.secretToken = secretToken.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @PostMapping(WEBHOOK_PATH)
+    public ResponseEntity<Void> receiveUpdate(
+            @RequestHeader(value = SECRET_HEADER, required = false) String token,
+            @RequestBody Update update) {
+        if (token == null || !MessageDigest.isEqual(secretToken, token.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Rejected Telegram webhook call with missing or invalid secret token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        telegramBotService.onUpdateReceived(update);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.receipthub.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is opaque and is
+ * passed back to fetch the following page; it is null on the last page.
+ * {@code totalElements} is only filled in when the caller asked for a count.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private Long totalElements;
+    
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.receipthub.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStats {
+    private long totalRequest;
+    private long pendingCount;
+    private long approvedCount;
+    private long rejectedCount;
+    private double totalApprovedAmount;
+    private double totalPendingAmount;
+    private List<String> chartMonths;
+    private List<Double> chartTotalRequested;
+    private List<Double> chartApproved;
+    private List<Double> chartRejected;
+}
@@ -0,0 +1,23 @@
+package com.receipthub.dto;
+
+import java.time.LocalDateTime;
+
+import com.receipthub.model.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeResponse {
+    private Long id;
+    private String name;
+    private String email;
+    private String phoneNumber;
+    private User.UserRole role;
+    private LocalDateTime createdAt;
+}
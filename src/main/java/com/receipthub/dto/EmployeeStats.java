@@ -0,0 +1,20 @@
+package com.receipthub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStats {
+    private long totalRequest;
+    private long pendingCount;
+    private long approvedCount;
+    private long rejectedCount;
+    private double totalPendingAmount;
+    private double totalApprovedAmount;
+    private double totalRejectedAmount;
+}
@@ -0,0 +1,20 @@
+package com.receipthub.dto;
+
+import com.receipthub.model.ReimbursementRequest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyStatusSummary {
+    private Integer year;
+    private Integer month;
+    private ReimbursementRequest.RequestStatus status;
+    private Long count;
+    private Double totalAmount;
+}
@@ -0,0 +1,17 @@
+package com.receipthub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrStatusResponse {
+    private Long receiptId;
+    private String ocrStatus;
+    private String merchantName;
+    private Double amount;
+}
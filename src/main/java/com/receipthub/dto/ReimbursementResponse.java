@@ -2,6 +2,8 @@ package com.receipthub.dto;
 
 import java.time.LocalDateTime;
 
+import com.receipthub.model.ReimbursementRequest;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,6 +29,38 @@ public class ReimbursementResponse {
     private String reviewedByName;
     private String reviewNotes;
     
+    /**
+     * Constructor for JPQL projections, which select the status enum.
+     */
+    public ReimbursementResponse(Long id, Long receiptId, String receiptImageUrl, String merchantName,
+            Double requestedAmount, String description, ReimbursementRequest.RequestStatus status,
+            String submittedByName, String submittedByEmail, LocalDateTime submittedAt,
+            LocalDateTime transactionDate, LocalDateTime reviewedAt, String reviewedByName, String reviewNotes) {
+        this(id, receiptId, receiptImageUrl, merchantName, requestedAmount, description, status.name(),
+            submittedByName, submittedByEmail, submittedAt, transactionDate, reviewedAt, reviewedByName, reviewNotes);
+    }
+    
+    public static ReimbursementResponse from(ReimbursementRequest reimbursement) {
+        ReimbursementResponse response = new ReimbursementResponse();
+        response.setId(reimbursement.getId());
+        response.setReceiptId(reimbursement.getReceipt().getId());
+        response.setReceiptImageUrl(reimbursement.getReceipt().getImageUrl());
+        response.setMerchantName(reimbursement.getReceipt().getMerchantName());
+        response.setRequestedAmount(reimbursement.getRequestedAmount());
+        response.setDescription(reimbursement.getDescription());
+        response.setStatus(reimbursement.getStatus().name());
+        response.setSubmittedByName(reimbursement.getSubmittedBy().getName());
+        response.setSubmittedByEmail(reimbursement.getSubmittedBy().getEmail());
+        response.setSubmittedAt(reimbursement.getSubmittedAt());
+        response.setTransactionDate(reimbursement.getReceipt().getTransactionDate());
+        response.setReviewedAt(reimbursement.getReviewedAt());
+        if (reimbursement.getReviewedBy() != null) {
+            response.setReviewedByName(reimbursement.getReviewedBy().getName());
+        }
+        response.setReviewNotes(reimbursement.getReviewNotes());
+        return response;
+    }
+    
     public String getImageUrl() {
         return receiptImageUrl;
     }
@@ -0,0 +1,18 @@
+package com.receipthub.dto;
+
+import com.receipthub.model.ReimbursementRequest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusSummary {
+    private ReimbursementRequest.RequestStatus status;
+    private Long count;
+    private Double totalAmount;
+}
@@ -0,0 +1,15 @@
+package com.receipthub.dto;
+
+import com.receipthub.model.User;
+
+/**
+ * Immutable snapshot of the user fields read on the bot and web hot paths.
+ * This is what {@code UserLookupCache} holds instead of shared {@link User}
+ * entities; it deliberately leaves out the password hash.
+ */
+public record UserIdentity(Long id, String email, String name, User.UserRole role, Long telegramChatId) {
+    
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getTelegramChatId());
+    }
+}
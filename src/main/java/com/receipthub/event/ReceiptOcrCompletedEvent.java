@@ -0,0 +1,20 @@
+package com.receipthub.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.receipthub.model.Receipt;
+
+import lombok.Getter;
+
+@Getter
+public class ReceiptOcrCompletedEvent extends ApplicationEvent {
+    
+    private final Receipt receipt;
+    private final Long chatId;
+    
+    public ReceiptOcrCompletedEvent(Object source, Receipt receipt, Long chatId) {
+        super(source);
+        this.receipt = receipt;
+        this.chatId = chatId;
+    }
+}
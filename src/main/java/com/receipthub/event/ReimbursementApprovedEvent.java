@@ -9,10 +9,14 @@ import lombok.Getter;
 @Getter
 public class ReimbursementApprovedEvent extends ApplicationEvent {
     
+    /** Id of the outbox row this event was delivered from. */
+    private final Long eventId;
+    
     private final ReimbursementRequest reimbursementRequest;
     
-    public ReimbursementApprovedEvent(Object source, ReimbursementRequest reimbursementRequest) {
+    public ReimbursementApprovedEvent(Object source, Long eventId, ReimbursementRequest reimbursementRequest) {
         super(source);
+        this.eventId = eventId;
         this.reimbursementRequest = reimbursementRequest;
     }
 }
@@ -9,10 +9,14 @@ import lombok.Getter;
 @Getter
 public class ReimbursementSubmittedEvent extends ApplicationEvent {
     
+    /** Id of the outbox row this event was delivered from. */
+    private final Long eventId;
+    
     private final ReimbursementRequest reimbursementRequest;
     
-    public ReimbursementSubmittedEvent(Object source, ReimbursementRequest reimbursementRequest) {
+    public ReimbursementSubmittedEvent(Object source, Long eventId, ReimbursementRequest reimbursementRequest) {
         super(source);
+        this.eventId = eventId;
         this.reimbursementRequest = reimbursementRequest;
     }
 }
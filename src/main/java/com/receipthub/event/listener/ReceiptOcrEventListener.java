@@ -0,0 +1,35 @@
+package com.receipthub.event.listener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.receipthub.event.ReceiptOcrCompletedEvent;
+import com.receipthub.service.ReceiptPipelineMetrics;
+import com.receipthub.service.TelegramBotService;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ReceiptOcrEventListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReceiptOcrEventListener.class);
+    
+    private final TelegramBotService telegramBotService;
+    private final ReceiptPipelineMetrics pipelineMetrics;
+    
+    @EventListener
+    public void handleReceiptOcrCompleted(ReceiptOcrCompletedEvent event) {
+        log.info("Processing ReceiptOcrCompletedEvent for receipt ID: {} (status: {})", 
+            event.getReceipt().getId(), event.getReceipt().getOcrStatus());
+        if (event.getChatId() != null) {
+            pipelineMetrics.time(ReceiptPipelineMetrics.OCR_EVENT, () -> {
+                pipelineMetrics.tagReceipt(event.getReceipt().getId());
+                telegramBotService.handleOcrResult(event.getChatId(), event.getReceipt());
+                return null;
+            });
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.receipthub.event.listener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import com.receipthub.event.ReimbursementApprovedEvent;
@@ -13,6 +12,11 @@ import com.receipthub.service.NotificationService;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Runs in the outbox relay's per-event transaction, so the notifications
+ * queued here commit together with the event's delivered status and a
+ * redelivered event has nothing to deduplicate.
+ */
 @Component
 @RequiredArgsConstructor
 public class ReimbursementEventListener {
@@ -21,27 +25,24 @@ public class ReimbursementEventListener {
     
     private final NotificationService notificationService;
     
-    @Async
     @EventListener
     public void handleReimbursementSubmitted(ReimbursementSubmittedEvent event) {
-        log.info("Processing ReimbursementSubmittedEvent for request ID: {}", 
-            event.getReimbursementRequest().getId());
+        log.info("Processing ReimbursementSubmittedEvent {} for request ID: {}", 
+            event.getEventId(), event.getReimbursementRequest().getId());
         notificationService.notifyAdmins(event.getReimbursementRequest());
     }
     
-    @Async
     @EventListener
     public void handleReimbursementApproved(ReimbursementApprovedEvent event) {
-        log.info("Processing ReimbursementApprovedEvent for request ID: {}", 
-            event.getReimbursementRequest().getId());
+        log.info("Processing ReimbursementApprovedEvent {} for request ID: {}", 
+            event.getEventId(), event.getReimbursementRequest().getId());
         notificationService.notifyEmployee(event.getReimbursementRequest(), "APPROVED");
     }
     
-    @Async
     @EventListener
     public void handleReimbursementRejected(ReimbursementRejectedEvent event) {
-        log.info("Processing ReimbursementRejectedEvent for request ID: {}", 
-            event.getReimbursementRequest().getId());
+        log.info("Processing ReimbursementRejectedEvent {} for request ID: {}", 
+            event.getEventId(), event.getReimbursementRequest().getId());
         notificationService.notifyEmployee(event.getReimbursementRequest(), "REJECTED");
     }
 }
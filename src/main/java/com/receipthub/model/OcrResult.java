@@ -0,0 +1,38 @@
+package com.receipthub.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Raw OCR engine text keyed by the SHA-256 of the image bytes, so an identical
+ * image never has to be sent through OCR twice. The text is parsed again on
+ * every read, so parser changes apply to cached images too.
+ */
+@Entity
+@Table(name = "ocr_results")
+@Getter
+@Setter
+public class OcrResult {
+    
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+    
+    @Column(columnDefinition = "TEXT")
+    private String rawText;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,79 @@
+package com.receipthub.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Telegram message waiting to be sent. Rows are written in the transaction
+ * that handles the outbox event and only marked sent once Telegram accepted
+ * them, so queued notifications survive a restart.
+ */
+@Entity
+@Table(name = "outbound_messages", indexes = {
+    @Index(name = "idx_outbound_messages_status_next_attempt", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_outbound_messages_chat_status", columnList = "chat_id, status")
+})
+@Getter
+@Setter
+public class OutboundMessage {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "chat_id", nullable = false)
+    private Long chatId;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String text;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(length = 1000)
+    private String lastError;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime sentAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+        if (status == null) {
+            status = Status.PENDING;
+        }
+        if (attempts == null) {
+            attempts = 0;
+        }
+    }
+    
+    public enum Status {
+        PENDING,
+        SENT,
+        FAILED
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
@@ -16,7 +17,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "receipts")
+@Table(name = "receipts", indexes = {
+    @Index(name = "idx_receipts_content_hash", columnList = "content_hash")
+})
 @Getter
 @Setter
 public class Receipt {
@@ -28,6 +31,9 @@ public class Receipt {
     @Column(nullable = false)
     private String imageUrl;
     
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
     
     private String merchantName;
     
@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
@@ -18,7 +19,12 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "reimbursement_requests")
+@Table(name = "reimbursement_requests", indexes = {
+    @Index(name = "idx_reimbursement_requests_submitted", columnList = "submitted_at"),
+    @Index(name = "idx_reimbursement_requests_status_submitted", columnList = "status, submitted_at"),
+    @Index(name = "idx_reimbursement_requests_submitter_submitted", columnList = "submitted_by, submitted_at"),
+    @Index(name = "idx_reimbursement_requests_submitter_status_submitted", columnList = "submitted_by, status, submitted_at")
+})
 @Getter
 @Setter
 public class ReimbursementRequest {
@@ -44,7 +50,7 @@ public class ReimbursementRequest {
     @Column(nullable = false)
     private RequestStatus status;
     
-    @Column(nullable = false)
+    @Column(name = "submitted_at", nullable = false)
     private LocalDateTime submittedAt;
     
     private LocalDateTime reviewedAt;
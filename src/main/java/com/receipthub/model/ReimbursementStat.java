@@ -0,0 +1,58 @@
+package com.receipthub.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Materialized request count and amount per status and submission month.
+ * Kept up to date by {@link com.receipthub.service.ReimbursementStatsService}.
+ */
+@Entity
+@Table(name = "reimbursement_stats")
+@IdClass(ReimbursementStat.Key.class)
+@Getter
+@Setter
+public class ReimbursementStat {
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReimbursementRequest.RequestStatus status;
+    
+    @Id
+    @Column(nullable = false)
+    private Integer statYear;
+    
+    @Id
+    @Column(nullable = false)
+    private Integer statMonth;
+    
+    @Column(nullable = false)
+    private Long requestCount;
+    
+    @Column(nullable = false)
+    private Double totalAmount;
+    
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private ReimbursementRequest.RequestStatus status;
+        private Integer statYear;
+        private Integer statMonth;
+    }
+}
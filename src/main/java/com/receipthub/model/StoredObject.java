@@ -0,0 +1,37 @@
+package com.receipthub.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Number of receipts referencing a MinIO object. With content-addressed
+ * storage several receipts can share one object; it is removed from the
+ * bucket when the last reference is released.
+ */
+@Entity
+@Table(name = "stored_objects")
+@Getter
+@Setter
+public class StoredObject {
+    
+    @Id
+    private String objectName;
+    
+    @Column(nullable = false)
+    private Long refCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,45 @@
+package com.receipthub.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "telegram_conversations", indexes = {
+    @Index(name = "idx_telegram_conversations_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+public class TelegramConversation {
+    
+    @Id
+    private Long chatId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Stage stage;
+    
+    private Long receiptId;
+    
+    private Double amount;
+    
+    private String merchantName;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    public enum Stage {
+        /** Photo uploaded, OCR still running. */
+        PROCESSING,
+        /** OCR done, waiting for the user to type a description. */
+        AWAITING_DESCRIPTION
+    }
+}
@@ -0,0 +1,37 @@
+package com.receipthub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.receipthub.model.OcrJob;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface OcrJobRepository extends JpaRepository<OcrJob, Long> {
+    
+    /**
+     * Locks up to {@code limit} runnable jobs: queued jobs whose backoff has
+     * elapsed and running jobs whose lease expired. Rows locked by other
+     * nodes are skipped rather than waited on.
+     */
+    @Query(value = """
+        SELECT * FROM ocr_jobs
+        WHERE (status = 'QUEUED' AND next_attempt_at <= :now)
+           OR (status = 'RUNNING' AND lease_expires_at < :now)
+        ORDER BY next_attempt_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<OcrJob> lockRunnableJobs(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM OcrJob j WHERE j.id = :id")
+    Optional<OcrJob> findByIdForUpdate(@Param("id") Long id);
+}
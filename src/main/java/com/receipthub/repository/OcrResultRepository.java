@@ -0,0 +1,10 @@
+package com.receipthub.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.receipthub.model.OcrResult;
+
+@Repository
+public interface OcrResultRepository extends JpaRepository<OcrResult, String> {
+}
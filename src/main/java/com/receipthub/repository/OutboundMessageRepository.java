@@ -0,0 +1,61 @@
+package com.receipthub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.receipthub.model.OutboundMessage;
+
+@Repository
+public interface OutboundMessageRepository extends JpaRepository<OutboundMessage, Long> {
+    
+    /**
+     * Chats with messages due for sending, the one waiting longest first.
+     * A chat with any message held back for a retry is left out, so newer
+     * messages cannot overtake it.
+     */
+    @Query("""
+        SELECT m.chatId FROM OutboundMessage m
+        WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now
+          AND NOT EXISTS (
+            SELECT w.id FROM OutboundMessage w
+            WHERE w.chatId = m.chatId AND w.status = 'PENDING' AND w.nextAttemptAt > :now)
+        GROUP BY m.chatId
+        ORDER BY MIN(m.id)""")
+    List<Long> findSendableChatIds(@Param("now") LocalDateTime now, Limit limit);
+    
+    /**
+     * Locks the oldest due messages of one chat. Rows held by a sender on
+     * another node are skipped, so a message is never sent twice.
+     */
+    @Query(value = """
+        SELECT * FROM outbound_messages
+        WHERE chat_id = :chatId AND status = 'PENDING' AND next_attempt_at <= :now
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<OutboundMessage> lockSendable(@Param("chatId") Long chatId, @Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    /**
+     * Holds back every pending message of a chat until {@code until}, so
+     * later messages cannot overtake ones waiting for a retry.
+     */
+    @Modifying
+    @Query("""
+        UPDATE OutboundMessage m SET m.nextAttemptAt = :until
+        WHERE m.chatId = :chatId AND m.status = 'PENDING'
+          AND m.nextAttemptAt < :until""")
+    int postponeChat(@Param("chatId") Long chatId, @Param("until") LocalDateTime until);
+    
+    long countByStatus(OutboundMessage.Status status);
+    
+    @Modifying
+    @Query("DELETE FROM OutboundMessage m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
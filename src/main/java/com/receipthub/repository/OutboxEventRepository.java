@@ -0,0 +1,39 @@
+package com.receipthub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.receipthub.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    @Query("""
+        SELECT e.id FROM OutboxEvent e
+        WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now
+        ORDER BY e.id""")
+    List<Long> findDeliverableIds(@Param("now") LocalDateTime now, Limit limit);
+    
+    /**
+     * Locks one event if it is still deliverable. A row held by another
+     * node's relay is skipped, so relays on several nodes never deliver the
+     * same event.
+     */
+    @Query(value = """
+        SELECT * FROM outbox_events
+        WHERE id = :id AND status = 'PENDING' AND next_attempt_at <= :now
+        FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    Optional<OutboxEvent> lockDeliverable(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'DELIVERED' AND e.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before);
+}
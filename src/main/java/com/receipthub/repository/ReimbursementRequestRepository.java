@@ -1,25 +1,109 @@
 package com.receipthub.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.receipthub.dto.MonthlyStatusSummary;
+import com.receipthub.dto.ReimbursementResponse;
+import com.receipthub.dto.StatusSummary;
 import com.receipthub.model.ReimbursementRequest;
-import com.receipthub.model.User;
 
 @Repository
 public interface ReimbursementRequestRepository extends JpaRepository<ReimbursementRequest, Long> {
     
-    List<ReimbursementRequest> findByStatus(ReimbursementRequest.RequestStatus status);
+    List<ReimbursementRequest> findAllByOrderBySubmittedAtDesc();
     
-    Page<ReimbursementRequest> findByStatus(ReimbursementRequest.RequestStatus status, Pageable pageable);
+    String RESPONSE_PROJECTION = """
+        SELECT new com.receipthub.dto.ReimbursementResponse(
+            r.id, rc.id, rc.imageUrl, rc.merchantName, r.requestedAmount, r.description, r.status,
+            s.name, s.email, r.submittedAt, rc.transactionDate, r.reviewedAt, rv.name, r.reviewNotes)
+        FROM ReimbursementRequest r
+        JOIN r.receipt rc
+        JOIN r.submittedBy s
+        LEFT JOIN r.reviewedBy rv
+        """;
     
-    Page<ReimbursementRequest> findBySubmittedBy(User user, Pageable pageable);
+    /*
+     * Listing queries: receipt, submitter and reviewer columns are joined into
+     * a DTO projection, so a page is one select (plus the count) instead of
+     * one select per row for each association.
+     */
     
-    Page<ReimbursementRequest> findBySubmittedByAndStatus(User user, ReimbursementRequest.RequestStatus status, Pageable pageable);
+    @Query(value = RESPONSE_PROJECTION,
+           countQuery = "SELECT COUNT(r) FROM ReimbursementRequest r")
+    Page<ReimbursementResponse> findResponses(Pageable pageable);
     
-    List<ReimbursementRequest> findAllByOrderBySubmittedAtDesc();
+    @Query(value = RESPONSE_PROJECTION + "WHERE r.status = :status",
+           countQuery = "SELECT COUNT(r) FROM ReimbursementRequest r WHERE r.status = :status")
+    Page<ReimbursementResponse> findResponsesByStatus(
+        @Param("status") ReimbursementRequest.RequestStatus status, Pageable pageable);
+    
+    @Query(value = RESPONSE_PROJECTION + "WHERE s.id = :userId",
+           countQuery = "SELECT COUNT(r) FROM ReimbursementRequest r WHERE r.submittedBy.id = :userId")
+    Page<ReimbursementResponse> findResponsesBySubmitter(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(value = RESPONSE_PROJECTION + "WHERE s.id = :userId AND r.status = :status",
+           countQuery = "SELECT COUNT(r) FROM ReimbursementRequest r WHERE r.submittedBy.id = :userId AND r.status = :status")
+    Page<ReimbursementResponse> findResponsesBySubmitterAndStatus(
+        @Param("userId") Long userId, @Param("status") ReimbursementRequest.RequestStatus status, Pageable pageable);
+    
+    /*
+     * Keyset pagination ordered by (submittedAt, id), newest first. Each page
+     * seeks past the last row of the previous one, so its cost does not grow
+     * with depth. Null filters match everything.
+     */
+    
+    @Query(RESPONSE_PROJECTION + """
+        WHERE (:status IS NULL OR r.status = :status)
+          AND (:userId IS NULL OR s.id = :userId)
+        ORDER BY r.submittedAt DESC, r.id DESC""")
+    List<ReimbursementResponse> findResponsesFirst(
+        @Param("status") ReimbursementRequest.RequestStatus status, @Param("userId") Long userId, Limit limit);
+    
+    @Query(RESPONSE_PROJECTION + """
+        WHERE (:status IS NULL OR r.status = :status)
+          AND (:userId IS NULL OR s.id = :userId)
+          AND (r.submittedAt < :submittedAt OR (r.submittedAt = :submittedAt AND r.id < :id))
+        ORDER BY r.submittedAt DESC, r.id DESC""")
+    List<ReimbursementResponse> findResponsesAfter(
+        @Param("status") ReimbursementRequest.RequestStatus status, @Param("userId") Long userId,
+        @Param("submittedAt") LocalDateTime submittedAt, @Param("id") Long id, Limit limit);
+    
+    @Query("""
+        SELECT COUNT(r) FROM ReimbursementRequest r
+        WHERE (:status IS NULL OR r.status = :status)
+          AND (:userId IS NULL OR r.submittedBy.id = :userId)""")
+    long countResponses(
+        @Param("status") ReimbursementRequest.RequestStatus status, @Param("userId") Long userId);
+    
+    boolean existsByReceiptContentHashAndReceiptIdNot(String contentHash, Long receiptId);
+    
+    @Query("""
+        SELECT new com.receipthub.dto.StatusSummary(r.status, COUNT(r), SUM(r.requestedAmount))
+        FROM ReimbursementRequest r
+        GROUP BY r.status""")
+    List<StatusSummary> summarizeByStatus();
+    
+    @Query("""
+        SELECT new com.receipthub.dto.StatusSummary(r.status, COUNT(r), SUM(r.requestedAmount))
+        FROM ReimbursementRequest r
+        WHERE r.submittedBy.id = :userId
+        GROUP BY r.status""")
+    List<StatusSummary> summarizeByStatusForSubmitter(@Param("userId") Long userId);
+    
+    @Query("""
+        SELECT new com.receipthub.dto.MonthlyStatusSummary(
+            YEAR(r.submittedAt), MONTH(r.submittedAt), r.status, COUNT(r), SUM(r.requestedAmount))
+        FROM ReimbursementRequest r
+        GROUP BY YEAR(r.submittedAt), MONTH(r.submittedAt), r.status
+        ORDER BY YEAR(r.submittedAt) DESC, MONTH(r.submittedAt) DESC""")
+    List<MonthlyStatusSummary> summarizeByMonthAndStatus();
 }
@@ -0,0 +1,40 @@
+package com.receipthub.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.receipthub.model.ReimbursementStat;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ReimbursementStatRepository extends JpaRepository<ReimbursementStat, ReimbursementStat.Key> {
+    
+    List<ReimbursementStat> findAllByOrderByStatYearDescStatMonthDesc();
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ReimbursementStat s")
+    List<ReimbursementStat> findAllForUpdate();
+    
+    /**
+     * Atomically adds the deltas to a bucket, creating it when missing.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO reimbursement_stats (status, stat_year, stat_month, request_count, total_amount)
+        VALUES (:status, :year, :month, :countDelta, :amountDelta)
+        ON DUPLICATE KEY UPDATE
+            request_count = request_count + VALUES(request_count),
+            total_amount = total_amount + VALUES(total_amount)""", nativeQuery = true)
+    void applyDelta(@Param("status") String status,
+                    @Param("year") int year,
+                    @Param("month") int month,
+                    @Param("countDelta") long countDelta,
+                    @Param("amountDelta") double amountDelta);
+}
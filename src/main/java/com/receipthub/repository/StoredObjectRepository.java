@@ -0,0 +1,34 @@
+package com.receipthub.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.receipthub.model.StoredObject;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface StoredObjectRepository extends JpaRepository<StoredObject, String> {
+    
+    /**
+     * Atomically adds a reference, creating the row on first use.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO stored_objects (object_name, ref_count, created_at)
+        VALUES (:objectName, 1, NOW())
+        ON DUPLICATE KEY UPDATE ref_count = ref_count + 1""", nativeQuery = true)
+    void retain(@Param("objectName") String objectName);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM StoredObject o WHERE o.objectName = :objectName")
+    Optional<StoredObject> findByIdForUpdate(@Param("objectName") String objectName);
+}
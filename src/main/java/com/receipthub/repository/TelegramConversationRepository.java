@@ -0,0 +1,26 @@
+package com.receipthub.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.receipthub.model.TelegramConversation;
+
+@Repository
+public interface TelegramConversationRepository extends JpaRepository<TelegramConversation, Long> {
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TelegramConversation c WHERE c.chatId = :chatId AND c.receiptId = :receiptId")
+    int deleteByChatIdAndReceiptId(@Param("chatId") Long chatId, @Param("receiptId") Long receiptId);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TelegramConversation c WHERE c.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,11 +3,15 @@ package com.receipthub.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.receipthub.dto.EmployeeResponse;
 import com.receipthub.model.User;
 
 @Repository
@@ -23,4 +27,46 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Page<User> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
         String name, String email, Pageable pageable);
+    
+    /**
+     * MySQL full-text search over name and email. Requires the
+     * {@code ft_users_name_email} index from scripts/db-benchmark/indexes.sql;
+     * {@code terms} is a boolean-mode expression.
+     */
+    @Query(value = """
+        SELECT * FROM users
+        WHERE MATCH (name, email) AGAINST (:terms IN BOOLEAN MODE)
+        ORDER BY name""",
+           countQuery = """
+        SELECT COUNT(*) FROM users
+        WHERE MATCH (name, email) AGAINST (:terms IN BOOLEAN MODE)""",
+           nativeQuery = true)
+    Page<User> searchFullText(@Param("terms") String terms, Pageable pageable);
+    
+    String EMPLOYEE_PROJECTION = """
+        SELECT new com.receipthub.dto.EmployeeResponse(u.id, u.name, u.email, u.phoneNumber, u.role, u.createdAt)
+        FROM User u
+        """;
+    
+    String SEARCH_FILTER = """
+        (:search IS NULL
+          OR LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%'))
+          OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))
+        """;
+    
+    /*
+     * Keyset pagination ordered by (name, id).
+     */
+    
+    @Query(EMPLOYEE_PROJECTION + "WHERE " + SEARCH_FILTER + "ORDER BY u.name, u.id")
+    List<EmployeeResponse> findEmployeesFirst(@Param("search") String search, Limit limit);
+    
+    @Query(EMPLOYEE_PROJECTION + "WHERE " + SEARCH_FILTER + """
+          AND (u.name > :name OR (u.name = :name AND u.id > :id))
+        ORDER BY u.name, u.id""")
+    List<EmployeeResponse> findEmployeesAfter(
+        @Param("search") String search, @Param("name") String name, @Param("id") Long id, Limit limit);
+    
+    @Query("SELECT COUNT(u) FROM User u WHERE " + SEARCH_FILTER)
+    long countEmployees(@Param("search") String search);
 }
@@ -9,7 +9,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.receipthub.model.User;
-import com.receipthub.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,13 +23,13 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AuthService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserService userService;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.debug("Attempting to load user by email: {}", email);
         
-        User user = userRepository.findByEmail(email)
+        User user = userService.loadUserByEmail(email)
                 .orElseThrow(() -> {
                     log.warn("Authentication failed: User not found with email: {}", email);
                     return new UsernameNotFoundException("Invalid email or password");
@@ -0,0 +1,100 @@
+package com.receipthub.service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.receipthub.dto.DashboardStats;
+import com.receipthub.dto.MonthlyStatusSummary;
+import com.receipthub.model.ReimbursementRequest.RequestStatus;
+import com.receipthub.repository.ReimbursementStatRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds the admin dashboard statistics from the materialized
+ * {@code reimbursement_stats} buckets, so the cost of a page view depends on
+ * the number of statuses and months rather than on the number of requests.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardStatsService {
+    
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMM yyyy");
+    
+    private final ReimbursementStatRepository reimbursementStatRepository;
+    
+    @Transactional(readOnly = true)
+    public DashboardStats getDashboardStats() {
+        List<MonthlyStatusSummary> buckets = reimbursementStatRepository.findAllByOrderByStatYearDescStatMonthDesc()
+            .stream()
+            .filter(stat -> stat.getRequestCount() > 0)
+            .map(stat -> new MonthlyStatusSummary(
+                stat.getStatYear(), stat.getStatMonth(), stat.getStatus(),
+                stat.getRequestCount(), stat.getTotalAmount()))
+            .toList();
+        
+        DashboardStats stats = new DashboardStats();
+        applyStatusTotals(stats, buckets);
+        applyMonthlyChart(stats, buckets);
+        return stats;
+    }
+    
+    private void applyStatusTotals(DashboardStats stats, List<MonthlyStatusSummary> buckets) {
+        Map<RequestStatus, Long> counts = new EnumMap<>(RequestStatus.class);
+        Map<RequestStatus, Double> amounts = new EnumMap<>(RequestStatus.class);
+        for (MonthlyStatusSummary bucket : buckets) {
+            counts.merge(bucket.getStatus(), bucket.getCount(), Long::sum);
+            amounts.merge(bucket.getStatus(), bucket.getTotalAmount(), Double::sum);
+        }
+        
+        stats.setTotalRequest(counts.values().stream().mapToLong(Long::longValue).sum());
+        stats.setPendingCount(counts.getOrDefault(RequestStatus.PENDING, 0L));
+        stats.setApprovedCount(counts.getOrDefault(RequestStatus.APPROVED, 0L));
+        stats.setRejectedCount(counts.getOrDefault(RequestStatus.REJECTED, 0L));
+        stats.setTotalPendingAmount(round(amounts.getOrDefault(RequestStatus.PENDING, 0.0)));
+        stats.setTotalApprovedAmount(round(amounts.getOrDefault(RequestStatus.APPROVED, 0.0)));
+    }
+    
+    /**
+     * Folds (month, status) buckets into the chart series, newest month first.
+     */
+    private void applyMonthlyChart(DashboardStats stats, List<MonthlyStatusSummary> buckets) {
+        Map<String, Double> monthlyTotalRequested = new LinkedHashMap<>();
+        Map<String, Double> monthlyApproved = new LinkedHashMap<>();
+        Map<String, Double> monthlyRejected = new LinkedHashMap<>();
+        
+        for (MonthlyStatusSummary bucket : buckets) {
+            if (bucket.getYear() == null || bucket.getMonth() == null || bucket.getTotalAmount() == null) {
+                continue;
+            }
+            
+            String monthKey = YearMonth.of(bucket.getYear(), bucket.getMonth()).format(MONTH_FORMATTER);
+            monthlyTotalRequested.merge(monthKey, bucket.getTotalAmount(), Double::sum);
+            monthlyApproved.putIfAbsent(monthKey, 0.0);
+            monthlyRejected.putIfAbsent(monthKey, 0.0);
+            
+            if (bucket.getStatus() == RequestStatus.APPROVED) {
+                monthlyApproved.merge(monthKey, bucket.getTotalAmount(), Double::sum);
+            } else if (bucket.getStatus() == RequestStatus.REJECTED) {
+                monthlyRejected.merge(monthKey, bucket.getTotalAmount(), Double::sum);
+            }
+        }
+        
+        stats.setChartMonths(new ArrayList<>(monthlyTotalRequested.keySet()));
+        stats.setChartTotalRequested(new ArrayList<>(monthlyTotalRequested.values()));
+        stats.setChartApproved(new ArrayList<>(monthlyApproved.values()));
+        stats.setChartRejected(new ArrayList<>(monthlyRejected.values()));
+    }
+    
+    private double round(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+}
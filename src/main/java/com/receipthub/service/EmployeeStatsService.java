@@ -0,0 +1,88 @@
+package com.receipthub.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.receipthub.dto.EmployeeStats;
+import com.receipthub.dto.StatusSummary;
+import com.receipthub.repository.ReimbursementRequestRepository;
+
+/**
+ * Per-employee request counts and amounts for /my-requests, read with one
+ * grouped query and cached briefly. Entries are evicted when one of the
+ * employee's requests changes; the TTL bounds staleness from other nodes.
+ */
+@Service
+public class EmployeeStatsService {
+    
+    private final ReimbursementRequestRepository reimbursementRequestRepository;
+    private final Cache<Long, EmployeeStats> stats;
+    
+    public EmployeeStatsService(ReimbursementRequestRepository reimbursementRequestRepository,
+            @Value("${employee-stats.cache.ttl-seconds}") long ttlSeconds,
+            @Value("${employee-stats.cache.max-entries}") long maxEntries) {
+        this.reimbursementRequestRepository = reimbursementRequestRepository;
+        this.stats = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .maximumSize(maxEntries)
+            .build();
+    }
+    
+    public EmployeeStats getStats(Long userId) {
+        return stats.get(userId, this::load);
+    }
+    
+    /**
+     * Drops the cached stats of an employee. Inside a transaction this waits
+     * for the commit, so a concurrent page view cannot cache the old values
+     * again.
+     */
+    public void evict(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stats.invalidate(userId);
+                }
+            });
+        } else {
+            stats.invalidate(userId);
+        }
+    }
+    
+    private EmployeeStats load(Long userId) {
+        List<StatusSummary> summaries = reimbursementRequestRepository.summarizeByStatusForSubmitter(userId);
+        EmployeeStats result = new EmployeeStats();
+        for (StatusSummary summary : summaries) {
+            long count = summary.getCount();
+            double amount = summary.getTotalAmount() != null ? round(summary.getTotalAmount()) : 0.0;
+            result.setTotalRequest(result.getTotalRequest() + count);
+            switch (summary.getStatus()) {
+                case PENDING -> {
+                    result.setPendingCount(count);
+                    result.setTotalPendingAmount(amount);
+                }
+                case APPROVED -> {
+                    result.setApprovedCount(count);
+                    result.setTotalApprovedAmount(amount);
+                }
+                case REJECTED -> {
+                    result.setRejectedCount(count);
+                    result.setTotalRejectedAmount(amount);
+                }
+            }
+        }
+        return result;
+    }
+    
+    private double round(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+}
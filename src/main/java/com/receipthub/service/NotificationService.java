@@ -2,9 +2,9 @@ package com.receipthub.service;
 
 import java.util.List;
 
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.receipthub.dto.UserIdentity;
 import com.receipthub.model.ReimbursementRequest;
 import com.receipthub.model.User;
 
@@ -15,11 +15,10 @@ import lombok.RequiredArgsConstructor;
 public class NotificationService {
     
     private final UserService userService;
-    private final TelegramBotService telegramBotService;
+    private final TelegramMessageSender telegramMessageSender;
     
-    @Async
     public void notifyAdmins(ReimbursementRequest reimbursement) {
-        List<User> admins = userService.getAdminUsers();
+        List<UserIdentity> admins = userService.getAdminUsers();
         
         String message = """
             New Reimbursement Request
@@ -37,16 +36,11 @@ public class NotificationService {
                 reimbursement.getDescription()
             );
         
-        for (User admin : admins) {
-            try {
-                telegramBotService.sendMessage(admin.getTelegramChatId(), message);
-            } catch (Exception ignored) {
-
-            }
+        for (UserIdentity admin : admins) {
+            telegramMessageSender.enqueue(admin.telegramChatId(), message);
         }
     }
     
-    @Async
     public void notifyEmployee(ReimbursementRequest reimbursement, String decision) {
         User employee = reimbursement.getSubmittedBy();
         
@@ -69,10 +63,6 @@ public class NotificationService {
                 reimbursement.getReviewNotes() != null ? reimbursement.getReviewNotes() : "No notes provided"
             );
         
-        try {
-            telegramBotService.sendMessage(employee.getTelegramChatId(), message);
-        } catch (Exception ignored) {
-
-        }
+        telegramMessageSender.enqueue(employee.getTelegramChatId(), message);
     }
 }
@@ -0,0 +1,346 @@
+package com.receipthub.service;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.receipthub.dto.OcrDataResponse;
+import com.receipthub.event.ReceiptOcrCompletedEvent;
+import com.receipthub.model.OcrJob;
+import com.receipthub.model.Receipt;
+import com.receipthub.repository.OcrJobRepository;
+import com.receipthub.repository.ReceiptRepository;
+import com.receipthub.service.ocr.ReceiptTextParser;
+
+/**
+ * Durable OCR pipeline. Receipts are enqueued as {@link OcrJob} rows in the
+ * same transaction that persists them; every node polls the table, claims
+ * runnable jobs with {@code FOR UPDATE SKIP LOCKED} and runs them on the
+ * bounded {@code ocrExecutor} pool. Failed attempts are retried with
+ * exponential backoff, and a job whose lease expires (e.g. the node died
+ * mid-OCR) becomes claimable again.
+ */
+@Service
+public class OcrPipelineService {
+    
+    private static final Logger log = LoggerFactory.getLogger(OcrPipelineService.class);
+    
+    private final ReceiptRepository receiptRepository;
+    private final OcrJobRepository ocrJobRepository;
+    private final OcrService ocrService;
+    private final OcrResultCache ocrResultCache;
+    private final ReceiptImageHandoff imageHandoff;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor ocrExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ReceiptPipelineMetrics pipelineMetrics;
+    
+    private final String nodeId = resolveNodeId();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    @Value("${ocr.worker.max-size}")
+    private int maxConcurrency;
+    
+    @Value("${ocr.queue.batch-size}")
+    private int batchSize;
+    
+    @Value("${ocr.queue.max-attempts}")
+    private int maxAttempts;
+    
+    @Value("${ocr.queue.lease-seconds}")
+    private long leaseSeconds;
+    
+    @Value("${ocr.queue.backoff-base-seconds}")
+    private long backoffBaseSeconds;
+    
+    @Value("${ocr.queue.backoff-max-seconds}")
+    private long backoffMaxSeconds;
+    
+    public OcrPipelineService(
+            ReceiptRepository receiptRepository,
+            OcrJobRepository ocrJobRepository,
+            OcrService ocrService,
+            OcrResultCache ocrResultCache,
+            ReceiptImageHandoff imageHandoff,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("ocrExecutor") ThreadPoolTaskExecutor ocrExecutor,
+            PlatformTransactionManager transactionManager,
+            ReceiptPipelineMetrics pipelineMetrics) {
+        this.receiptRepository = receiptRepository;
+        this.ocrJobRepository = ocrJobRepository;
+        this.ocrService = ocrService;
+        this.ocrResultCache = ocrResultCache;
+        this.imageHandoff = imageHandoff;
+        this.eventPublisher = eventPublisher;
+        this.ocrExecutor = ocrExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pipelineMetrics = pipelineMetrics;
+    }
+    
+    /**
+     * Persists a PENDING receipt together with its OCR job.
+     *
+     * @param chatId Telegram chat to notify when OCR finishes, or null
+     */
+    @Transactional
+    public Receipt submit(Receipt receipt, Long chatId) {
+        receipt.setOcrStatus(Receipt.OcrStatus.PENDING);
+        receipt = receiptRepository.save(receipt);
+        
+        OcrJob job = new OcrJob();
+        job.setReceiptId(receipt.getId());
+        job.setChatId(chatId);
+        ocrJobRepository.save(job);
+        
+        log.info("Queued OCR job for receipt {}", receipt.getId());
+        return receipt;
+    }
+    
+    /**
+     * Persists a receipt whose image was already processed, using the cached
+     * OCR result instead of queueing a job.
+     */
+    public Receipt completeFromCache(Receipt receipt, OcrDataResponse ocrData, Long chatId) {
+        receipt.setMerchantName(ocrData.getMerchantName());
+        receipt.setAmount(ocrData.getAmount());
+        receipt.setTransactionDate(ocrData.getTransactionDate());
+        receipt.setOcrStatus(Receipt.OcrStatus.COMPLETED);
+        receipt = receiptRepository.save(receipt);
+        
+        log.info("Reused cached OCR result for receipt {} (hash {})", receipt.getId(), receipt.getContentHash());
+        pipelineMetrics.recordOcrResult(ReceiptPipelineMetrics.OcrResult.CACHED);
+        publishResult(new ReceiptOcrCompletedEvent(this, receipt, chatId));
+        return receipt;
+    }
+    
+    @Scheduled(fixedDelayString = "${ocr.queue.poll-interval-ms}")
+    public void pollJobs() {
+        int capacity = Math.min(batchSize, maxConcurrency - inFlight.get());
+        if (capacity <= 0) {
+            return;
+        }
+        
+        List<ReceiptOcrCompletedEvent> exhausted = new ArrayList<>();
+        List<OcrJob> claimed;
+        try {
+            claimed = transactionTemplate.execute(status -> claimJobs(capacity, exhausted));
+        } catch (Exception e) {
+            log.error("Error claiming OCR jobs: {}", e.getMessage(), e);
+            return;
+        }
+        exhausted.forEach(this::publishResult);
+        
+        if (claimed == null) {
+            return;
+        }
+        for (OcrJob job : claimed) {
+            inFlight.incrementAndGet();
+            try {
+                ocrExecutor.execute(() -> {
+                    try {
+                        process(job);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.decrementAndGet();
+                log.error("Error dispatching OCR job {}; it will be retried after its lease expires", job.getId(), e);
+            }
+        }
+    }
+    
+    private List<OcrJob> claimJobs(int limit, List<ReceiptOcrCompletedEvent> exhausted) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OcrJob> claimed = new ArrayList<>();
+        
+        for (OcrJob job : ocrJobRepository.lockRunnableJobs(now, limit)) {
+            if (job.getStatus() == OcrJob.JobStatus.RUNNING) {
+                log.warn("OCR job {} lease held by {} expired, reclaiming", job.getId(), job.getLeaseOwner());
+            }
+            
+            if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(OcrJob.JobStatus.FAILED);
+                job.setLeaseOwner(null);
+                job.setLeaseExpiresAt(null);
+                pipelineMetrics.recordOcrResult(ReceiptPipelineMetrics.OcrResult.FAILED);
+                failReceipt(job).ifPresent(exhausted::add);
+                continue;
+            }
+            
+            job.setStatus(OcrJob.JobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLeaseOwner(nodeId);
+            job.setLeaseExpiresAt(now.plusSeconds(leaseSeconds));
+            claimed.add(job);
+        }
+        return claimed;
+    }
+    
+    private void process(OcrJob job) {
+        Receipt receipt = receiptRepository.findById(job.getReceiptId()).orElse(null);
+        if (receipt == null) {
+            log.warn("Receipt {} no longer exists, dropping OCR job {}", job.getReceiptId(), job.getId());
+            imageHandoff.discard(job.getReceiptId());
+            transactionTemplate.executeWithoutResult(status -> finish(job.getId(), OcrJob.JobStatus.DONE, null));
+            return;
+        }
+        
+        try {
+            pipelineMetrics.time(ReceiptPipelineMetrics.OCR_JOB, () -> complete(job, receipt));
+        } catch (Exception e) {
+            log.error("OCR attempt {} failed for receipt {}: {}", job.getAttempts(), receipt.getId(), e.getMessage());
+            ReceiptOcrCompletedEvent failure = transactionTemplate.execute(status -> retryOrFail(job.getId(), e));
+            if (failure != null) {
+                publishResult(failure);
+            }
+        }
+    }
+    
+    /**
+     * Runs OCR for a claimed job and stores the result.
+     *
+     * @return false if the lease was lost before the result could be stored
+     */
+    private boolean complete(OcrJob job, Receipt receipt) throws Exception {
+        pipelineMetrics.tagReceipt(receipt.getId());
+        byte[] buffered = imageHandoff.get(receipt.getId()).orElse(null);
+        String text = ocrService.extractText(receipt.getImageUrl(), buffered);
+        OcrDataResponse ocrData = ocrService.parseReceiptText(text);
+        
+        receipt.setMerchantName(ocrData.getMerchantName());
+        receipt.setAmount(ocrData.getAmount());
+        receipt.setTransactionDate(ocrData.getTransactionDate());
+        receipt.setOcrStatus(Receipt.OcrStatus.COMPLETED);
+        
+        Receipt completed = receipt;
+        Boolean owned = pipelineMetrics.time(ReceiptPipelineMetrics.RECEIPT_SAVE,
+            () -> transactionTemplate.execute(status -> {
+                if (finish(job.getId(), OcrJob.JobStatus.DONE, null)) {
+                    receiptRepository.save(completed);
+                    return true;
+                }
+                return false;
+            }));
+        
+        if (!Boolean.TRUE.equals(owned)) {
+            return false;
+        }
+        
+        imageHandoff.discard(receipt.getId());
+        if (isComplete(ocrData)) {
+            ocrResultCache.put(receipt.getContentHash(), text);
+        }
+        pipelineMetrics.recordOcrResult(ReceiptPipelineMetrics.OcrResult.SUCCESS);
+        log.info("OCR processing completed for receipt {}: merchant={}, amount={}",
+            receipt.getId(), receipt.getMerchantName(), receipt.getAmount());
+        publishResult(new ReceiptOcrCompletedEvent(this, completed, job.getChatId()));
+        return true;
+    }
+    
+    /**
+     * Only text that yields a merchant and an amount is cached, so a bad read
+     * is retried through OCR when the same image is sent again.
+     */
+    private static boolean isComplete(OcrDataResponse ocrData) {
+        return ocrData.getAmount() != null && ocrData.getAmount() > 0
+            && !ReceiptTextParser.UNKNOWN_MERCHANT.equals(ocrData.getMerchantName());
+    }
+    
+    /**
+     * @return true if this node still owned the job and it was finished
+     */
+    private boolean finish(Long jobId, OcrJob.JobStatus status, String error) {
+        OcrJob job = ocrJobRepository.findByIdForUpdate(jobId).orElse(null);
+        if (job == null || !ownsLease(job)) {
+            log.warn("Lost lease on OCR job {}, leaving it to its current owner", jobId);
+            return false;
+        }
+        job.setStatus(status);
+        job.setLastError(error);
+        job.setLeaseOwner(null);
+        job.setLeaseExpiresAt(null);
+        return true;
+    }
+    
+    private ReceiptOcrCompletedEvent retryOrFail(Long jobId, Exception e) {
+        OcrJob job = ocrJobRepository.findByIdForUpdate(jobId).orElse(null);
+        if (job == null || !ownsLease(job)) {
+            log.warn("Lost lease on OCR job {}, leaving it to its current owner", jobId);
+            return null;
+        }
+        
+        String error = e.getMessage() != null && e.getMessage().length() > 1000
+            ? e.getMessage().substring(0, 1000)
+            : e.getMessage();
+        job.setLastError(error);
+        job.setLeaseOwner(null);
+        job.setLeaseExpiresAt(null);
+        
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(OcrJob.JobStatus.FAILED);
+            log.error("OCR job {} for receipt {} failed after {} attempts", job.getId(), job.getReceiptId(), job.getAttempts());
+            pipelineMetrics.recordOcrResult(ReceiptPipelineMetrics.OcrResult.FAILED);
+            return failReceipt(job).orElse(null);
+        }
+        
+        long delay = backoffSeconds(job.getAttempts());
+        job.setStatus(OcrJob.JobStatus.QUEUED);
+        job.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+        log.info("OCR job {} will be retried in {}s", job.getId(), delay);
+        pipelineMetrics.recordOcrResult(ReceiptPipelineMetrics.OcrResult.RETRIED);
+        return null;
+    }
+    
+    private Optional<ReceiptOcrCompletedEvent> failReceipt(OcrJob job) {
+        imageHandoff.discard(job.getReceiptId());
+        return receiptRepository.findById(job.getReceiptId()).map(receipt -> {
+            receipt.setOcrStatus(Receipt.OcrStatus.FAILED);
+            receipt = receiptRepository.save(receipt);
+            return new ReceiptOcrCompletedEvent(this, receipt, job.getChatId());
+        });
+    }
+    
+    private boolean ownsLease(OcrJob job) {
+        return job.getStatus() == OcrJob.JobStatus.RUNNING && nodeId.equals(job.getLeaseOwner());
+    }
+    
+    private long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(delay, backoffMaxSeconds);
+    }
+    
+    private void publishResult(ReceiptOcrCompletedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            log.error("Error publishing OCR result for receipt {}: {}", event.getReceipt().getId(), e.getMessage(), e);
+        }
+    }
+    
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.receipthub.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.receipthub.model.OcrResult;
+import com.receipthub.repository.OcrResultRepository;
+
+/**
+ * Two-level cache of raw OCR text keyed by image content hash: a bounded
+ * in-memory cache in front of the {@code ocr_results} table, which survives
+ * restarts and is shared by all nodes. Callers parse the text on every hit,
+ * so cached images pick up parser changes.
+ */
+@Service
+public class OcrResultCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(OcrResultCache.class);
+    
+    private final OcrResultRepository ocrResultRepository;
+    private final Cache<String, String> memory;
+    
+    public OcrResultCache(
+            OcrResultRepository ocrResultRepository,
+            @Value("${ocr.cache.max-entries}") long maxEntries,
+            @Value("${ocr.cache.expire-after-access-minutes}") long expireAfterAccessMinutes) {
+        this.ocrResultRepository = ocrResultRepository;
+        this.memory = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+            .build();
+    }
+    
+    /**
+     * Raw text for the image. Rows written before raw text was kept have none
+     * and count as a miss.
+     */
+    public Optional<String> get(String contentHash) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        
+        String cached = memory.getIfPresent(contentHash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        return ocrResultRepository.findById(contentHash)
+            .map(OcrResult::getRawText)
+            .map(rawText -> {
+                memory.put(contentHash, rawText);
+                return rawText;
+            });
+    }
+    
+    public void put(String contentHash, String rawText) {
+        if (contentHash == null || rawText == null) {
+            return;
+        }
+        
+        memory.put(contentHash, rawText);
+        try {
+            OcrResult result = ocrResultRepository.findById(contentHash).orElseGet(OcrResult::new);
+            result.setContentHash(contentHash);
+            result.setRawText(rawText);
+            ocrResultRepository.save(result);
+        } catch (Exception e) {
+            log.warn("Error persisting OCR result for {}: {}", contentHash, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.receipthub.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.receipthub.event.ReimbursementApprovedEvent;
+import com.receipthub.event.ReimbursementRejectedEvent;
+import com.receipthub.event.ReimbursementSubmittedEvent;
+import com.receipthub.model.OutboxEvent;
+import com.receipthub.model.ReimbursementRequest;
+import com.receipthub.repository.OutboxEventRepository;
+import com.receipthub.repository.ReimbursementRequestRepository;
+
+/**
+ * Delivers outbox events to in-process listeners. Each event is locked,
+ * delivered and marked delivered in its own transaction, so whatever the
+ * listeners write, such as queued Telegram messages, commits or rolls back
+ * together with the delivered status. An event is therefore only redelivered
+ * when nothing its listeners wrote was committed, and listeners need no
+ * processed-event markers of their own.
+ * <p>
+ * A failed delivery is rolled back and its attempt recorded in a separate
+ * transaction, so one failing event cannot undo the others or stay at the
+ * head of the queue.
+ */
+@Service
+public class OutboxRelay {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ReimbursementRequestRepository reimbursementRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseSeconds;
+    
+    @Value("${outbox.retention-days}")
+    private long retentionDays;
+    
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            ReimbursementRequestRepository reimbursementRequestRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.relay.batch-size}") int batchSize,
+            @Value("${outbox.relay.max-attempts}") int maxAttempts,
+            @Value("${outbox.relay.backoff-base-seconds}") long backoffBaseSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.reimbursementRequestRepository = reimbursementRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseSeconds = backoffBaseSeconds;
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms}")
+    public void relay() {
+        try {
+            int handled;
+            do {
+                handled = relayBatch();
+            } while (handled == batchSize);
+        } catch (Exception e) {
+            log.error("Error relaying outbox events: {}", e.getMessage(), e);
+        }
+    }
+    
+    @Scheduled(cron = "${outbox.purge-cron}")
+    public void purgeDelivered() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deleteDeliveredBefore(cutoff));
+        log.info("Purged {} delivered outbox events", purged);
+    }
+    
+    /**
+     * @return how many events this relay delivered or failed; events another
+     * node holds are skipped and not counted, so the caller stops polling
+     * instead of spinning on them
+     */
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxEventRepository.findDeliverableIds(now, Limit.of(batchSize));
+        
+        int handled = 0;
+        for (Long id : ids) {
+            try {
+                Boolean delivered = transactionTemplate.execute(status -> deliver(id, now));
+                if (Boolean.TRUE.equals(delivered)) {
+                    handled++;
+                }
+            } catch (Exception e) {
+                Boolean recorded = transactionTemplate.execute(status -> recordFailure(id, now, e));
+                if (Boolean.TRUE.equals(recorded)) {
+                    handled++;
+                }
+            }
+        }
+        return handled;
+    }
+    
+    private boolean deliver(Long id, LocalDateTime now) {
+        OutboxEvent event = outboxEventRepository.lockDeliverable(id, now).orElse(null);
+        if (event == null) {
+            return false;
+        }
+        
+        publish(event);
+        event.setStatus(OutboxEvent.Status.DELIVERED);
+        event.setDeliveredAt(now);
+        event.setLastError(null);
+        return true;
+    }
+    
+    private boolean recordFailure(Long id, LocalDateTime now, Exception e) {
+        OutboxEvent event = outboxEventRepository.lockDeliverable(id, now).orElse(null);
+        if (event == null) {
+            log.warn("Outbox event {} failed and was taken by another relay: {}", id, e.getMessage());
+            return false;
+        }
+        
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(e.getMessage() != null && e.getMessage().length() > 1000
+            ? e.getMessage().substring(0, 1000)
+            : e.getMessage());
+        
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            log.error("Outbox event {} ({}) failed after {} attempts", event.getId(), event.getEventType(), event.getAttempts(), e);
+        } else {
+            long delay = backoffBaseSeconds << Math.min(event.getAttempts() - 1, 10);
+            event.setNextAttemptAt(now.plusSeconds(delay));
+            log.warn("Outbox event {} ({}) failed, retrying in {}s: {}", event.getId(), event.getEventType(), delay, e.getMessage());
+        }
+        return true;
+    }
+    
+    private void publish(OutboxEvent event) {
+        ReimbursementRequest reimbursement = reimbursementRequestRepository.findById(event.getAggregateId()).orElse(null);
+        if (reimbursement == null) {
+            log.warn("Reimbursement {} for outbox event {} no longer exists, skipping", event.getAggregateId(), event.getId());
+            return;
+        }
+        
+        ApplicationEvent applicationEvent = switch (event.getEventType()) {
+            case REIMBURSEMENT_SUBMITTED -> new ReimbursementSubmittedEvent(this, event.getId(), reimbursement);
+            case REIMBURSEMENT_APPROVED -> new ReimbursementApprovedEvent(this, event.getId(), reimbursement);
+            case REIMBURSEMENT_REJECTED -> new ReimbursementRejectedEvent(this, event.getId(), reimbursement);
+        };
+        eventPublisher.publishEvent(applicationEvent);
+    }
+}
@@ -0,0 +1,29 @@
+package com.receipthub.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.receipthub.model.OutboxEvent;
+import com.receipthub.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    
+    /**
+     * Records an event as part of the caller's transaction; it is delivered
+     * by {@link OutboxRelay} once that transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEvent.EventType eventType, Long aggregateId) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setAggregateId(aggregateId);
+        outboxEventRepository.save(event);
+    }
+}
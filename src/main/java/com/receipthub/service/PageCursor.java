@@ -0,0 +1,71 @@
+package com.receipthub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque URL-safe cursors. The payload carries a
+ * kind prefix so a cursor from one listing is rejected by another.
+ */
+public final class PageCursor {
+    
+    private static final String SUBMITTED_KIND = "s";
+    private static final String NAME_KIND = "n";
+    
+    private PageCursor() {
+    }
+    
+    /** Position in a listing ordered by {@code (submittedAt DESC, id DESC)}. */
+    public record Submitted(LocalDateTime submittedAt, Long id) {
+    }
+    
+    /** Position in a listing ordered by {@code (name ASC, id ASC)}. */
+    public record Name(String name, Long id) {
+    }
+    
+    public static String encode(Submitted position) {
+        return encode(SUBMITTED_KIND + "|" + position.id() + "|" + position.submittedAt());
+    }
+    
+    public static String encode(Name position) {
+        return encode(NAME_KIND + "|" + position.id() + "|" + position.name());
+    }
+    
+    public static Submitted decodeSubmitted(String cursor) {
+        String[] parts = decode(cursor, SUBMITTED_KIND);
+        try {
+            return new Submitted(LocalDateTime.parse(parts[2]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+    
+    public static Name decodeName(String cursor) {
+        String[] parts = decode(cursor, NAME_KIND);
+        try {
+            return new Name(parts[2], Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+    
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] decode(String cursor, String kind) {
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        // The name may itself contain '|', so only split off kind and id
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || !kind.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+}
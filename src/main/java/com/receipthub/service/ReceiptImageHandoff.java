@@ -0,0 +1,45 @@
+package com.receipthub.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps freshly uploaded receipt images in memory, keyed by receipt id, so
+ * the OCR worker can use the bytes that were just written to MinIO instead
+ * of downloading them again. Bounded by total size and age; when an image is
+ * no longer here (evicted, or the job runs on another node) OCR reads it
+ * from storage as before.
+ */
+@Component
+public class ReceiptImageHandoff {
+    
+    private final Cache<Long, byte[]> images;
+    
+    public ReceiptImageHandoff(
+            @Value("${ocr.handoff.max-bytes}") long maxBytes,
+            @Value("${ocr.handoff.ttl-seconds}") long ttlSeconds) {
+        this.images = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Long, byte[]>weigher((receiptId, data) -> data.length)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+    
+    public void offer(Long receiptId, byte[] imageData) {
+        images.put(receiptId, imageData);
+    }
+    
+    public Optional<byte[]> get(Long receiptId) {
+        return Optional.ofNullable(images.getIfPresent(receiptId));
+    }
+    
+    public void discard(Long receiptId) {
+        images.invalidate(receiptId);
+    }
+}
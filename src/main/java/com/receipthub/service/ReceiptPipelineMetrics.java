@@ -0,0 +1,133 @@
+package com.receipthub.service;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Timers, spans and counters for each stage a receipt passes through, from
+ * the Telegram update to the stored OCR result. Every stage is an
+ * {@link Observation} named {@code receipt.pipeline.stage}, so it is recorded
+ * both as a timer tagged with {@code stage} and {@code outcome} and as a span
+ * named after the stage. Calls to individual OCR engines are observed as
+ * {@code receipt.ocr.engine} instead, which adds an {@code engine} tag:
+ * Prometheus requires every meter of one name to have the same tag keys.
+ * Spans tagged with {@link #tagReceipt} are collected per receipt by
+ * {@link ReceiptTraceRecorder}.
+ */
+@Component
+public class ReceiptPipelineMetrics {
+    
+    public static final String STAGE_TIMER = "receipt.pipeline.stage";
+    public static final String ENGINE_TIMER = "receipt.ocr.engine";
+    public static final String OCR_RESULTS = "receipt.ocr.results";
+    public static final String IMAGE_SIZE = "receipt.image.size";
+    
+    public static final String RECEIPT_ID = "receipt.id";
+    
+    public static final String TELEGRAM_UPDATE = "telegram.update";
+    public static final String TELEGRAM_OCR_RESULT = "telegram.ocr-result";
+    public static final String IMAGE_DOWNLOAD = "image.download";
+    public static final String RECEIPT_UPLOAD = "receipt.upload";
+    public static final String RECEIPT_SAVE = "receipt.save";
+    public static final String STORAGE_UPLOAD = "storage.upload";
+    public static final String STORAGE_READ = "storage.read";
+    public static final String OCR_JOB = "ocr.job";
+    public static final String OCR_EXTRACT = "ocr.extract";
+    public static final String OCR_ENGINE = "ocr.engine";
+    public static final String OCR_PARSE = "ocr.parse";
+    public static final String OCR_EVENT = "ocr.event";
+    
+    /** Values of the {@code result} tag on {@value #OCR_RESULTS}. */
+    public enum OcrResult {
+        SUCCESS, CACHED, RETRIED, FAILED;
+        
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+    
+    @FunctionalInterface
+    public interface Stage<T, E extends Exception> {
+        T run() throws E;
+    }
+    
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final DistributionSummary imageSize;
+    
+    public ReceiptPipelineMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        this.imageSize = DistributionSummary.builder(IMAGE_SIZE)
+            .description("Size of uploaded receipt images")
+            .baseUnit("bytes")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Runs {@code work} as the current observation of {@code stage}, tagged
+     * with {@code outcome=success} or {@code outcome=error}. Stages started
+     * inside {@code work} on the same thread become its child spans.
+     */
+    public <T, E extends Exception> T time(String stage, Stage<T, E> work) throws E {
+        return observe(STAGE_TIMER, stage, KeyValues.empty(), work);
+    }
+    
+    /**
+     * Runs one OCR engine call as stage {@value #OCR_ENGINE} of
+     * {@value #ENGINE_TIMER}, tagged with the engine name.
+     */
+    public <T, E extends Exception> T timeEngine(String engine, Stage<T, E> work) throws E {
+        return observe(ENGINE_TIMER, OCR_ENGINE, KeyValues.of("engine", engine), work);
+    }
+    
+    private <T, E extends Exception> T observe(String name, String stage, KeyValues keyValues, Stage<T, E> work) throws E {
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+            .contextualName(stage)
+            .lowCardinalityKeyValue("stage", stage)
+            .lowCardinalityKeyValues(keyValues)
+            .start();
+        String outcome = "error";
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = work.run();
+            outcome = "success";
+            return result;
+        } catch (Exception | Error e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.stop();
+        }
+    }
+    
+    /**
+     * Marks the current stage, and with it the whole trace, as belonging to
+     * {@code receiptId}.
+     */
+    public void tagReceipt(Long receiptId) {
+        Observation current = observationRegistry.getCurrentObservation();
+        if (current != null && receiptId != null) {
+            current.highCardinalityKeyValue(RECEIPT_ID, receiptId.toString());
+        }
+    }
+    
+    public void recordImageSize(long bytes) {
+        imageSize.record(bytes);
+    }
+    
+    public void recordOcrResult(OcrResult result) {
+        Counter.builder(OCR_RESULTS)
+            .description("OCR job outcomes")
+            .tag("result", result.tag())
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -1,15 +1,24 @@
 package com.receipthub.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.receipthub.dto.OcrDataResponse;
+import com.receipthub.dto.OcrStatusResponse;
 import com.receipthub.dto.ReceiptUploadResponse;
 import com.receipthub.model.Receipt;
 import com.receipthub.repository.ReceiptRepository;
+import com.receipthub.repository.ReimbursementRequestRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,51 +29,94 @@ public class ReceiptService {
     private static final Logger log = LoggerFactory.getLogger(ReceiptService.class);
     
     private final ReceiptRepository receiptRepository;
+    private final ReimbursementRequestRepository reimbursementRequestRepository;
+    private final OcrPipelineService ocrPipelineService;
+    private final OcrResultCache ocrResultCache;
     private final OcrService ocrService;
     private final StorageService storageService;
+    private final ReceiptImageHandoff imageHandoff;
+    private final ReceiptPipelineMetrics pipelineMetrics;
 
     /**
      * Upload receipt from Telegram bot (byte array).
-     * Processes OCR synchronously to return merchant name and amount immediately.
+     * Stores the image and persists the receipt. If an identical image was
+     * processed before, its cached OCR result is reused; otherwise OCR is
+     * queued. The result is delivered to {@code chatId} once available.
      */
-    public ReceiptUploadResponse uploadReceiptFromBytes(byte[] fileData, String fileName) throws IOException {
-
-        String objectName = storageService.uploadFile(fileData, fileName);
+    public ReceiptUploadResponse uploadReceiptFromBytes(byte[] fileData, String fileName, Long chatId) throws IOException {
+        return storeReceipt(fileData, sha256Hex(fileData), fileName, chatId);
+    }
+    
+    /**
+     * Upload receipt straight from a download stream (e.g. the Telegram file
+     * API). The stream is hashed while it is read into a single buffer, which
+     * is then written to storage and handed to the OCR worker, so the image is
+     * neither spooled to disk nor downloaded again for OCR.
+     *
+     * @param expectedSize size reported by the sender, or null if unknown
+     */
+    public ReceiptUploadResponse uploadReceiptFromStream(InputStream imageStream, Integer expectedSize,
+            String fileName, Long chatId) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] fileData = pipelineMetrics.time(ReceiptPipelineMetrics.IMAGE_DOWNLOAD, () -> {
+            try (InputStream in = new DigestInputStream(imageStream, digest)) {
+                return readImage(in, expectedSize);
+            }
+        });
+        return storeReceipt(fileData, HexFormat.of().formatHex(digest.digest()), fileName, chatId);
+    }
+    
+    private ReceiptUploadResponse storeReceipt(byte[] fileData, String contentHash, String fileName, Long chatId) throws IOException {
+        return pipelineMetrics.time(ReceiptPipelineMetrics.RECEIPT_UPLOAD,
+            () -> doStoreReceipt(fileData, contentHash, fileName, chatId));
+    }
+    
+    private ReceiptUploadResponse doStoreReceipt(byte[] fileData, String contentHash, String fileName, Long chatId) throws IOException {
+        String objectName = storageService.uploadFile(fileData, fileName, contentHash);
         Receipt receipt = new Receipt();
         receipt.setImageUrl(objectName);
-        receipt.setOcrStatus(Receipt.OcrStatus.PENDING);
-        receipt = receiptRepository.save(receipt);
-        processOcrSync(receipt);
+        receipt.setContentHash(contentHash);
+        
+        try {
+            Optional<OcrDataResponse> cached = ocrResultCache.get(contentHash).map(ocrService::parseReceiptText);
+            Receipt pending = receipt;
+            if (cached.isPresent()) {
+                receipt = pipelineMetrics.time(ReceiptPipelineMetrics.RECEIPT_SAVE,
+                    () -> ocrPipelineService.completeFromCache(pending, cached.get(), chatId));
+            } else {
+                receipt = pipelineMetrics.time(ReceiptPipelineMetrics.RECEIPT_SAVE,
+                    () -> ocrPipelineService.submit(pending, chatId));
+                imageHandoff.offer(receipt.getId(), fileData);
+            }
+            pipelineMetrics.tagReceipt(receipt.getId());
+        } catch (RuntimeException e) {
+            storageService.release(objectName);
+            throw e;
+        }
         return new ReceiptUploadResponse(
             receipt.getId(),
             receipt.getImageUrl(),
-            "Receipt uploaded successfully. OCR processing completed.",
+            "Receipt uploaded successfully. OCR processing queued.",
             receipt.getUploadedAt(),
             receipt.getAmount(),
             receipt.getMerchantName()
         );
     }
     
-    /**
-     * Process OCR synchronously for Telegram uploads to extract merchant, amount, and date.
-     */
-    private void processOcrSync(Receipt receipt) {
-        try {
-            OcrDataResponse ocrData = ocrService.extractReceiptData(receipt.getImageUrl());
-            
-            receipt.setMerchantName(ocrData.getMerchantName());
-            receipt.setAmount(ocrData.getAmount());
-            receipt.setTransactionDate(ocrData.getTransactionDate());
-            receipt.setOcrStatus(Receipt.OcrStatus.COMPLETED);
-            
-            receiptRepository.save(receipt);
-            log.info("OCR processing completed for receipt {}: merchant={}, amount={}", 
-                receipt.getId(), receipt.getMerchantName(), receipt.getAmount());
-        } catch (Exception e) {
-            receipt.setOcrStatus(Receipt.OcrStatus.FAILED);
-            receiptRepository.save(receipt);
-            log.error("OCR processing failed for receipt {}: {}", receipt.getId(), e.getMessage());
+    private byte[] readImage(InputStream in, Integer expectedSize) throws IOException {
+        if (expectedSize == null || expectedSize <= 0) {
+            return in.readAllBytes();
+        }
+        
+        byte[] buffer = new byte[expectedSize];
+        int read = in.readNBytes(buffer, 0, expectedSize);
+        if (read < expectedSize) {
+            return Arrays.copyOf(buffer, read);
         }
+        if (in.read() != -1) {
+            throw new IOException("Image is larger than the reported " + expectedSize + " bytes");
+        }
+        return buffer;
     }
     
     public Receipt getReceiptById(Long id) {
@@ -72,15 +124,53 @@ public class ReceiptService {
             .orElseThrow(() -> new RuntimeException("Receipt not found with id: " + id));
     }
     
+    public OcrStatusResponse getOcrStatus(Long id) {
+        Receipt receipt = getReceiptById(id);
+        return new OcrStatusResponse(
+            receipt.getId(),
+            receipt.getOcrStatus().name(),
+            receipt.getMerchantName(),
+            receipt.getAmount()
+        );
+    }
+    
+    /**
+     * Whether an identical image is already attached to a reimbursement request.
+     */
+    public boolean isDuplicateClaim(Receipt receipt) {
+        return receipt.getContentHash() != null
+            && reimbursementRequestRepository.existsByReceiptContentHashAndReceiptIdNot(
+                receipt.getContentHash(), receipt.getId());
+    }
+    
+    public boolean isOcrPending(Long id) {
+        return receiptRepository.findById(id)
+            .map(receipt -> receipt.getOcrStatus() == Receipt.OcrStatus.PENDING)
+            .orElse(false);
+    }
+    
     public void deleteReceipt(Long id) {
         try {
             Receipt receipt = receiptRepository.findById(id).orElse(null);
             if (receipt != null) {
                 receiptRepository.deleteById(id);
                 log.info("Receipt deleted: {}", id);
+                storageService.release(receipt.getImageUrl());
             }
         } catch (Exception e) {
             log.error("Error deleting receipt {}: {}", id, e.getMessage(), e);
         }
     }
+    
+    static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(sha256().digest(data));
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
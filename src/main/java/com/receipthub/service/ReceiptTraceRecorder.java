@@ -0,0 +1,136 @@
+package com.receipthub.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * In-process span exporter for the receipt pipeline. Keeps the most recent
+ * pipeline spans in memory so the latency breakdown of a receipt can be read
+ * back without a tracing backend, from tests or the {@code receipttraces}
+ * actuator endpoint.
+ * <p>
+ * Only spans of {@link ReceiptPipelineMetrics} stages are kept. A receipt's
+ * trace is every kept span sharing a trace id with a span tagged with its
+ * {@code receipt.id}, so the upload and the OCR job, which run on different
+ * threads, show up as two traces of the same receipt.
+ */
+@Component
+public class ReceiptTraceRecorder implements SpanExporter {
+    
+    private static final AttributeKey<String> STAGE = AttributeKey.stringKey("stage");
+    private static final AttributeKey<String> RECEIPT_ID = AttributeKey.stringKey(ReceiptPipelineMetrics.RECEIPT_ID);
+    
+    public record RecordedSpan(String traceId, String spanId, String parentSpanId, String name,
+            Instant start, Duration duration, boolean error, Map<String, String> attributes) {
+    }
+    
+    private final int maxSpans;
+    private final Deque<RecordedSpan> spans = new ArrayDeque<>();
+    private final LinkedHashMap<String, Long> receiptByTrace;
+    
+    public ReceiptTraceRecorder(@Value("${tracing.recorder.max-spans:10000}") int maxSpans) {
+        this.maxSpans = maxSpans;
+        this.receiptByTrace = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSpans;
+            }
+        };
+    }
+    
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            if (span.getAttributes().get(STAGE) == null) {
+                continue;
+            }
+            String receiptId = span.getAttributes().get(RECEIPT_ID);
+            if (receiptId != null) {
+                receiptByTrace.put(span.getTraceId(), Long.valueOf(receiptId));
+            }
+            spans.addLast(toRecordedSpan(span));
+            if (spans.size() > maxSpans) {
+                spans.removeFirst();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    /**
+     * Spans of every trace recorded for {@code receiptId}, in start order.
+     */
+    public synchronized List<RecordedSpan> getTrace(Long receiptId) {
+        Set<String> traceIds = new HashSet<>();
+        receiptByTrace.forEach((traceId, id) -> {
+            if (id.equals(receiptId)) {
+                traceIds.add(traceId);
+            }
+        });
+        List<RecordedSpan> trace = new ArrayList<>();
+        for (RecordedSpan span : spans) {
+            if (traceIds.contains(span.traceId())) {
+                trace.add(span);
+            }
+        }
+        trace.sort(Comparator.comparing(RecordedSpan::start));
+        return trace;
+    }
+    
+    /**
+     * Ids of receipts with recorded spans, most recent first.
+     */
+    public synchronized List<Long> getRecentReceipts(int limit) {
+        Set<Long> recent = new LinkedHashSet<>();
+        for (Long receiptId : receiptByTrace.sequencedValues().reversed()) {
+            if (recent.size() >= limit) {
+                break;
+            }
+            recent.add(receiptId);
+        }
+        return new ArrayList<>(recent);
+    }
+    
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    private static RecordedSpan toRecordedSpan(SpanData span) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return new RecordedSpan(
+            span.getTraceId(),
+            span.getSpanId(),
+            span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+            span.getName(),
+            Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+            Duration.ofNanos(span.getEndEpochNanos() - span.getStartEpochNanos()),
+            span.getStatus().getStatusCode() == StatusCode.ERROR,
+            attributes);
+    }
+}
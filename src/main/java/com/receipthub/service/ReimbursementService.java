@@ -3,8 +3,9 @@ package com.receipthub.service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -12,11 +13,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.receipthub.dto.CursorPage;
 import com.receipthub.dto.ReimbursementResponse;
 import com.receipthub.dto.ReimbursementSubmitRequest;
-import com.receipthub.event.ReimbursementApprovedEvent;
-import com.receipthub.event.ReimbursementRejectedEvent;
-import com.receipthub.event.ReimbursementSubmittedEvent;
+import com.receipthub.model.OutboxEvent;
 import com.receipthub.model.Receipt;
 import com.receipthub.model.ReimbursementRequest;
 import com.receipthub.model.User;
@@ -31,14 +31,16 @@ import lombok.extern.slf4j.Slf4j;
 public class ReimbursementService {
     
     private final ReimbursementRequestRepository reimbursementRequestRepository;
+    private final ReimbursementStatsService reimbursementStatsService;
     private final ReceiptService receiptService;
     private final UserService userService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final EmployeeStatsService employeeStatsService;
     
     @Transactional
     public void submitReimbursement(ReimbursementSubmitRequest request) {
         Receipt receipt = receiptService.getReceiptById(request.getReceiptId());
-        User user = userService.getUserById(request.getUserId());
+        User user = userService.getUserReference(request.getUserId());
         
         ReimbursementRequest reimbursement = new ReimbursementRequest();
         reimbursement.setReceipt(receipt);
@@ -48,10 +50,10 @@ public class ReimbursementService {
         reimbursement.setStatus(ReimbursementRequest.RequestStatus.PENDING);
         
         reimbursement = reimbursementRequestRepository.save(reimbursement);
+        reimbursementStatsService.recordSubmitted(reimbursement);
+        employeeStatsService.evict(user.getId());
         
-        eventPublisher.publishEvent(new ReimbursementSubmittedEvent(this, reimbursement));
-
-        convertToResponse(reimbursement);
+        outboxService.record(OutboxEvent.EventType.REIMBURSEMENT_SUBMITTED, reimbursement.getId());
     }
     
     @Transactional
@@ -59,7 +61,8 @@ public class ReimbursementService {
         ReimbursementRequest reimbursement = reimbursementRequestRepository.findById(reimbursementId)
             .orElseThrow(() -> new RuntimeException("Reimbursement Request not found with id: " + reimbursementId));
         
-        User admin = userService.getUserById(adminId);
+        User admin = userService.getUserReference(adminId);
+        ReimbursementRequest.RequestStatus previousStatus = reimbursement.getStatus();
         
         reimbursement.setStatus(ReimbursementRequest.RequestStatus.APPROVED);
         reimbursement.setReviewedBy(admin);
@@ -67,12 +70,14 @@ public class ReimbursementService {
         reimbursement.setReviewNotes(notes);
         
         reimbursement = reimbursementRequestRepository.save(reimbursement);
+        reimbursementStatsService.recordChange(reimbursement.getSubmittedAt(),
+            previousStatus, reimbursement.getRequestedAmount(),
+            reimbursement.getStatus(), reimbursement.getRequestedAmount());
+        employeeStatsService.evict(reimbursement.getSubmittedBy().getId());
         
         log.info("Reimbursement {} approved by admin {}", reimbursementId, adminId);
         
-        eventPublisher.publishEvent(new ReimbursementApprovedEvent(this, reimbursement));
-
-        convertToResponse(reimbursement);
+        outboxService.record(OutboxEvent.EventType.REIMBURSEMENT_APPROVED, reimbursement.getId());
     }
     
     @Transactional
@@ -80,7 +85,8 @@ public class ReimbursementService {
         ReimbursementRequest reimbursement = reimbursementRequestRepository.findById(reimbursementId)
             .orElseThrow(() -> new RuntimeException("Reimbursement Request not found with id: " + reimbursementId));
         
-        User admin = userService.getUserById(adminId);
+        User admin = userService.getUserReference(adminId);
+        ReimbursementRequest.RequestStatus previousStatus = reimbursement.getStatus();
         
         reimbursement.setStatus(ReimbursementRequest.RequestStatus.REJECTED);
         reimbursement.setReviewedBy(admin);
@@ -88,18 +94,21 @@ public class ReimbursementService {
         reimbursement.setReviewNotes(notes);
         
         reimbursement = reimbursementRequestRepository.save(reimbursement);
+        reimbursementStatsService.recordChange(reimbursement.getSubmittedAt(),
+            previousStatus, reimbursement.getRequestedAmount(),
+            reimbursement.getStatus(), reimbursement.getRequestedAmount());
+        employeeStatsService.evict(reimbursement.getSubmittedBy().getId());
         
         log.info("Reimbursement {} rejected by admin {}", reimbursementId, adminId);
         
-        eventPublisher.publishEvent(new ReimbursementRejectedEvent(this, reimbursement));
-
-        convertToResponse(reimbursement);
+        outboxService.record(OutboxEvent.EventType.REIMBURSEMENT_REJECTED, reimbursement.getId());
     }
     
     @Transactional
     public void editReimbursement(Long requestId, String merchantName, Double amount, String transactionDate, String description) {
         ReimbursementRequest reimbursement = reimbursementRequestRepository.findById(requestId)
             .orElseThrow(() -> new RuntimeException("Reimbursement Request not found with id: " + requestId));
+        Double previousAmount = reimbursement.getRequestedAmount();
 
         reimbursement.setRequestedAmount(amount);
         
@@ -120,54 +129,58 @@ public class ReimbursementService {
             receipt.setTransactionDate(LocalDateTime.of(date, java.time.LocalTime.MIDNIGHT));
         }
         reimbursement = reimbursementRequestRepository.save(reimbursement);
-        convertToResponse(reimbursement);
+        reimbursementStatsService.recordChange(reimbursement.getSubmittedAt(),
+            reimbursement.getStatus(), previousAmount,
+            reimbursement.getStatus(), reimbursement.getRequestedAmount());
+        employeeStatsService.evict(reimbursement.getSubmittedBy().getId());
     }
     
     public Page<ReimbursementResponse> getAllReimbursements(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "submittedAt"));
-        Page<ReimbursementRequest> reimbursementPage = reimbursementRequestRepository.findAll(pageable);
-        return reimbursementPage.map(this::convertToResponse);
+        return reimbursementRequestRepository.findResponses(pageable);
     }
     
     public Page<ReimbursementResponse> getReimbursementsByStatus(ReimbursementRequest.RequestStatus status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "submittedAt"));
-        return reimbursementRequestRepository.findByStatus(status, pageable).map(this::convertToResponse);
+        return reimbursementRequestRepository.findResponsesByStatus(status, pageable);
     }
     
     public Page<ReimbursementResponse> getReimbursementsByUserId(Long userId, int page, int size) {
-        User user = userService.getUserById(userId);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "submittedAt"));
-        return reimbursementRequestRepository.findBySubmittedBy(user, pageable).map(this::convertToResponse);
+        return reimbursementRequestRepository.findResponsesBySubmitter(userId, pageable);
     }
     
     public Page<ReimbursementResponse> getReimbursementsByUserIdAndStatus(Long userId, String statusStr, int page, int size) {
-        User user = userService.getUserById(userId);
         ReimbursementRequest.RequestStatus status = ReimbursementRequest.RequestStatus.valueOf(statusStr);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "submittedAt"));
-        return reimbursementRequestRepository.findBySubmittedByAndStatus(user, status, pageable).map(this::convertToResponse);
+        return reimbursementRequestRepository.findResponsesBySubmitterAndStatus(userId, status, pageable);
     }
     
-    private ReimbursementResponse convertToResponse(ReimbursementRequest reimbursement) {
-        ReimbursementResponse response = new ReimbursementResponse();
-        response.setId(reimbursement.getId());
-        response.setReceiptId(reimbursement.getReceipt().getId());
-        response.setReceiptImageUrl(reimbursement.getReceipt().getImageUrl());
-        response.setMerchantName(reimbursement.getReceipt().getMerchantName());
-        response.setRequestedAmount(reimbursement.getRequestedAmount());
-        response.setDescription(reimbursement.getDescription());
-        response.setStatus(reimbursement.getStatus().name());
-        response.setSubmittedByName(reimbursement.getSubmittedBy().getName());
-        response.setSubmittedByEmail(reimbursement.getSubmittedBy().getEmail());
-        response.setSubmittedAt(reimbursement.getSubmittedAt());
-        response.setTransactionDate(reimbursement.getReceipt().getTransactionDate());
-        response.setReviewedAt(reimbursement.getReviewedAt());
-        if (reimbursement.getReviewedBy() != null) {
-            response.setReviewedByName(reimbursement.getReviewedBy().getName());
+    /**
+     * Keyset-paginated listing, newest first. Filters are optional; the total
+     * is only counted when {@code includeCount} is set.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     */
+    public CursorPage<ReimbursementResponse> getReimbursementsPage(ReimbursementRequest.RequestStatus status,
+            Long userId, String cursor, int size, boolean includeCount) {
+        Limit limit = Limit.of(size + 1);
+        List<ReimbursementResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reimbursementRequestRepository.findResponsesFirst(status, userId, limit);
+        } else {
+            PageCursor.Submitted after = PageCursor.decodeSubmitted(cursor);
+            rows = reimbursementRequestRepository.findResponsesAfter(status, userId, after.submittedAt(), after.id(), limit);
         }
         
-        response.setReviewNotes(reimbursement.getReviewNotes());
-        
-        return response;
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            ReimbursementResponse last = rows.get(size - 1);
+            nextCursor = PageCursor.encode(new PageCursor.Submitted(last.getSubmittedAt(), last.getId()));
+        }
+        Long total = includeCount ? reimbursementRequestRepository.countResponses(status, userId) : null;
+        return new CursorPage<>(rows, nextCursor, total);
     }
 }
 
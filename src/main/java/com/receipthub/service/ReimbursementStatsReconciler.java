@@ -0,0 +1,37 @@
+package com.receipthub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rebuilds the materialized stats on startup (rows inserted by data.sql bypass
+ * the service layer) and verifies them periodically against the source table.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReimbursementStatsReconciler {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReimbursementStatsReconciler.class);
+    
+    private final ReimbursementStatsService reimbursementStatsService;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+    
+    @Scheduled(cron = "${reimbursement.stats.reconcile-cron}")
+    public void reconcile() {
+        try {
+            reimbursementStatsService.reconcile();
+        } catch (Exception e) {
+            log.error("Error reconciling reimbursement stats: {}", e.getMessage(), e);
+        }
+    }
+}
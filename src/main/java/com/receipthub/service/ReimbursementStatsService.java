@@ -0,0 +1,129 @@
+package com.receipthub.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.receipthub.dto.MonthlyStatusSummary;
+import com.receipthub.model.ReimbursementRequest;
+import com.receipthub.model.ReimbursementRequest.RequestStatus;
+import com.receipthub.model.ReimbursementStat;
+import com.receipthub.repository.ReimbursementRequestRepository;
+import com.receipthub.repository.ReimbursementStatRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maintains the materialized {@code reimbursement_stats} buckets.
+ * Deltas are applied inside the caller's transaction so the counters commit
+ * or roll back together with the reimbursement change.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReimbursementStatsService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReimbursementStatsService.class);
+    
+    private static final double AMOUNT_TOLERANCE = 0.005;
+    
+    private final ReimbursementStatRepository reimbursementStatRepository;
+    private final ReimbursementRequestRepository reimbursementRequestRepository;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSubmitted(ReimbursementRequest reimbursement) {
+        applyDelta(reimbursement.getStatus(), reimbursement.getSubmittedAt(), 1, amountOf(reimbursement.getRequestedAmount()));
+    }
+    
+    /**
+     * Moves a request between buckets after its status and/or amount changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(LocalDateTime submittedAt,
+                             RequestStatus oldStatus, Double oldAmount,
+                             RequestStatus newStatus, Double newAmount) {
+        if (oldStatus == newStatus && Objects.equals(oldAmount, newAmount)) {
+            return;
+        }
+        applyDelta(oldStatus, submittedAt, -1, -amountOf(oldAmount));
+        applyDelta(newStatus, submittedAt, 1, amountOf(newAmount));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ReimbursementStat> getAllStats() {
+        return reimbursementStatRepository.findAllByOrderByStatYearDescStatMonthDesc();
+    }
+    
+    /**
+     * Recomputes every bucket from {@code reimbursement_requests} and corrects
+     * any drift. Existing buckets are locked first so concurrent deltas wait
+     * until the rebuilt values are committed.
+     *
+     * @return number of buckets that were inserted, updated or removed
+     */
+    @Transactional
+    public int reconcile() {
+        Map<ReimbursementStat.Key, ReimbursementStat> current = new HashMap<>();
+        for (ReimbursementStat stat : reimbursementStatRepository.findAllForUpdate()) {
+            current.put(new ReimbursementStat.Key(stat.getStatus(), stat.getStatYear(), stat.getStatMonth()), stat);
+        }
+        
+        int corrected = 0;
+        for (MonthlyStatusSummary source : reimbursementRequestRepository.summarizeByMonthAndStatus()) {
+            ReimbursementStat.Key key = new ReimbursementStat.Key(source.getStatus(), source.getYear(), source.getMonth());
+            ReimbursementStat stat = current.remove(key);
+            long expectedCount = source.getCount() != null ? source.getCount() : 0;
+            double expectedAmount = amountOf(source.getTotalAmount());
+            
+            if (stat != null
+                    && stat.getRequestCount() == expectedCount
+                    && Math.abs(stat.getTotalAmount() - expectedAmount) < AMOUNT_TOLERANCE) {
+                continue;
+            }
+            
+            if (stat == null) {
+                stat = new ReimbursementStat();
+                stat.setStatus(key.getStatus());
+                stat.setStatYear(key.getStatYear());
+                stat.setStatMonth(key.getStatMonth());
+            }
+            stat.setRequestCount(expectedCount);
+            stat.setTotalAmount(expectedAmount);
+            reimbursementStatRepository.save(stat);
+            corrected++;
+        }
+        
+        if (!current.isEmpty()) {
+            reimbursementStatRepository.deleteAll(current.values());
+            corrected += current.size();
+        }
+        
+        if (corrected > 0) {
+            log.warn("Reimbursement stats reconciled: {} bucket(s) corrected", corrected);
+        } else {
+            log.info("Reimbursement stats verified: no drift found");
+        }
+        return corrected;
+    }
+    
+    private void applyDelta(RequestStatus status, LocalDateTime submittedAt, long countDelta, double amountDelta) {
+        reimbursementStatRepository.applyDelta(
+            status.name(),
+            submittedAt.getYear(),
+            submittedAt.getMonthValue(),
+            countDelta,
+            amountDelta
+        );
+    }
+    
+    private double amountOf(Double amount) {
+        return amount != null ? amount : 0.0;
+    }
+}
@@ -0,0 +1,122 @@
+package com.receipthub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.SetBucketPolicyArgs;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates the receipt bucket and its public-read policy once, at startup,
+ * instead of on every upload. Until provisioning succeeds the storage is
+ * reported as not ready and provisioning is retried in the background;
+ * {@link StorageService} also re-provisions on demand if the bucket
+ * disappears later.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorageBucketProvisioner {
+    
+    private static final Logger log = LoggerFactory.getLogger(StorageBucketProvisioner.class);
+    
+    private final MinioClient minioClient;
+    
+    @Value("${minio.bucket-name}")
+    private String bucketName;
+    
+    private volatile boolean ready;
+    private volatile String lastError;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public String getBucketName() {
+        return bucketName;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void provisionOnStartup() {
+        try {
+            provision();
+        } catch (Exception e) {
+            log.warn("MinIO bucket {} not ready at startup, will retry: {}", bucketName, e.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${minio.provision-retry-ms}", initialDelayString = "${minio.provision-retry-ms}")
+    public void retryUntilReady() {
+        if (ready) {
+            return;
+        }
+        try {
+            provision();
+        } catch (Exception e) {
+            log.warn("MinIO bucket {} still not ready: {}", bucketName, e.getMessage());
+        }
+    }
+    
+    /**
+     * Ensures the bucket exists with the public-read policy applied.
+     */
+    public synchronized void provision() {
+        try {
+            boolean exists = minioClient.bucketExists(
+                    BucketExistsArgs.builder().bucket(bucketName).build());
+            
+            if (!exists) {
+                log.info("Creating MinIO bucket: {}", bucketName);
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+                log.info("MinIO bucket created successfully: {}", bucketName);
+            }
+            String policy = String.format("""
+                {
+                    "Version": "2012-10-17",
+                    "Statement": [
+                        {
+                            "Effect": "Allow",
+                            "Principal": {"AWS": "*"},
+                            "Action": ["s3:GetObject"],
+                            "Resource": ["arn:aws:s3:::%s/*"]
+                        }
+                    ]
+                }
+                """, bucketName);
+            
+            minioClient.setBucketPolicy(
+                SetBucketPolicyArgs.builder()
+                    .bucket(bucketName)
+                    .config(policy)
+                    .build());
+            
+            log.info("MinIO bucket {} provisioned with public read access", bucketName);
+            ready = true;
+            lastError = null;
+            
+        } catch (Exception e) {
+            ready = false;
+            lastError = e.getMessage();
+            log.error("Error provisioning MinIO bucket {}", bucketName, e);
+            throw new RuntimeException("Failed to initialize MinIO bucket", e);
+        }
+    }
+    
+    /**
+     * Called when an operation reports that the bucket is gone.
+     */
+    public void markMissing() {
+        ready = false;
+    }
+}
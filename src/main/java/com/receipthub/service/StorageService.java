@@ -12,13 +12,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import io.minio.BucketExistsArgs;
+import com.receipthub.model.StoredObject;
+import com.receipthub.repository.StoredObjectRepository;
+
+import io.minio.errors.ErrorResponseException;
 import io.minio.GetObjectArgs;
-import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
-import io.minio.SetBucketPolicyArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -28,78 +32,136 @@ public class StorageService {
     private static final Logger log = LoggerFactory.getLogger(StorageService.class);
     
     private final MinioClient minioClient;
+    private final StoredObjectRepository storedObjectRepository;
+    private final StorageBucketProvisioner bucketProvisioner;
+    private final TransactionTemplate transactionTemplate;
+    private final ReceiptPipelineMetrics pipelineMetrics;
     
     @Value("${minio.bucket-name}")
     private String bucketName;
+    
+    @Value("${minio.content-addressed:true}")
+    private boolean contentAddressed;
 
-    private void initializeBucket() {
+    /**
+     * Stores the file and returns its object name. In content-addressed mode
+     * the name is derived from {@code contentHash}, so identical images share
+     * one object: the upload is skipped when the object already exists. Each
+     * call adds a reference that must be given back with {@link #release}.
+     */
+    public String uploadFile(byte[] fileData, String originalFileName, String contentHash) throws IOException {
+        pipelineMetrics.recordImageSize(fileData.length);
+        return pipelineMetrics.time(ReceiptPipelineMetrics.STORAGE_UPLOAD,
+            () -> upload(fileData, originalFileName, contentHash));
+    }
+    
+    private String upload(byte[] fileData, String originalFileName, String contentHash) throws IOException {
+        String extension = originalFileName != null && originalFileName.contains(".")
+                ? originalFileName.substring(originalFileName.lastIndexOf(".")).toLowerCase()
+                : "";
+        boolean shared = contentAddressed && contentHash != null;
+        String objectName = (shared ? contentHash : UUID.randomUUID().toString()) + extension;
+        
+        // Take the reference before touching the bucket: release() removes the
+        // object while holding this row's lock, so it can no longer delete an
+        // object we are about to reuse.
+        storedObjectRepository.retain(objectName);
         try {
-            boolean exists = minioClient.bucketExists(
-                    BucketExistsArgs.builder().bucket(bucketName).build());
-
-            if (!exists) {
-                log.info("Creating MinIO bucket: {}", bucketName);
-                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
-                log.info("MinIO bucket created successfully: {}", bucketName);
-            }
-            String policy = String.format("""
-                {
-                    "Version": "2012-10-17",
-                    "Statement": [
-                        {
-                            "Effect": "Allow",
-                            "Principal": {"AWS": "*"},
-                            "Action": ["s3:GetObject"],
-                            "Resource": ["arn:aws:s3:::%s/*"]
-                        }
-                    ]
+            try {
+                store(fileData, objectName, shared);
+            } catch (ErrorResponseException e) {
+                if (!"NoSuchBucket".equals(e.errorResponse().code())) {
+                    throw e;
                 }
-                """, bucketName);
-            
-            minioClient.setBucketPolicy(
-                SetBucketPolicyArgs.builder()
-                    .bucket(bucketName)
-                    .config(policy)
-                    .build());
-            
-            log.info("MinIO bucket policy set to allow public read access");
+                log.warn("MinIO bucket {} is missing, provisioning it again", bucketName);
+                bucketProvisioner.markMissing();
+                bucketProvisioner.provision();
+                store(fileData, objectName, shared);
+            }
+            log.info("Stored {} in MinIO (original: {})", objectName, originalFileName);
+            return objectName;
             
         } catch (Exception e) {
-            log.error("Error initializing MinIO bucket", e);
-            throw new RuntimeException("Failed to initialize MinIO bucket", e);
+            log.error("Error uploading byte array to MinIO", e);
+            release(objectName);
+            throw new IOException("Failed to upload byte array to MinIO", e);
         }
     }
     
-    public String uploadFile(byte[] fileData, String originalFileName) throws IOException {
-        try {
-            initializeBucket();
-            
-            String extension = originalFileName != null && originalFileName.contains(".")
-                    ? originalFileName.substring(originalFileName.lastIndexOf("."))
-                    : "";
-            String objectName = UUID.randomUUID().toString() + extension;
+    private void store(byte[] fileData, String objectName, boolean shared) throws Exception {
+        if (shared && objectExists(objectName)) {
+            log.info("Object {} already stored, reusing it", objectName);
+            return;
+        }
+        
+        log.info("Uploading byte array to MinIO: {}", objectName);
+        
+        ByteArrayInputStream stream = new ByteArrayInputStream(fileData);
+        minioClient.putObject(
+                PutObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .stream(stream, fileData.length, -1)
+                        .contentType("application/octet-stream")
+                        .build());
+    }
+    
+    /**
+     * Drops one reference to the object and removes it from the bucket once
+     * nothing refers to it any more. Objects without a reference row (stored
+     * before reference counting existed) are left alone.
+     */
+    public void release(String objectName) {
+        if (objectName == null) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            StoredObject stored = storedObjectRepository.findByIdForUpdate(objectName).orElse(null);
+            if (stored == null) {
+                log.debug("No reference count for object {}, leaving it in place", objectName);
+                return;
+            }
             
-            log.info("Uploading byte array to MinIO: {} (original: {})", objectName, originalFileName);
+            if (stored.getRefCount() > 1) {
+                stored.setRefCount(stored.getRefCount() - 1);
+                return;
+            }
             
-            ByteArrayInputStream stream = new ByteArrayInputStream(fileData);
-            minioClient.putObject(
-                    PutObjectArgs.builder()
+            storedObjectRepository.delete(stored);
+            try {
+                minioClient.removeObject(
+                        RemoveObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .build());
+                log.info("Removed unreferenced object from MinIO: {}", objectName);
+            } catch (Exception e) {
+                log.error("Error removing unreferenced object {} from MinIO", objectName, e);
+            }
+        });
+    }
+    
+    private boolean objectExists(String objectName) throws Exception {
+        try {
+            minioClient.statObject(
+                    StatObjectArgs.builder()
                             .bucket(bucketName)
                             .object(objectName)
-                            .stream(stream, fileData.length, -1)
-                            .contentType("application/octet-stream")
                             .build());
-            
-            log.info("Byte array uploaded successfully to MinIO: {}", objectName);
-            return objectName;
-            
-        } catch (Exception e) {
-            log.error("Error uploading byte array to MinIO", e);
-            throw new IOException("Failed to upload byte array to MinIO", e);
+            return true;
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return false;
+            }
+            throw e;
         }
     }
     
     public byte[] getFile(String objectNameOrPath) throws IOException {
+        return pipelineMetrics.time(ReceiptPipelineMetrics.STORAGE_READ, () -> download(objectNameOrPath));
+    }
+    
+    private byte[] download(String objectNameOrPath) throws IOException {
         try {
 
             String objectName = objectNameOrPath;
@@ -131,5 +193,37 @@ public class StorageService {
             throw new IOException("Failed to download file from MinIO or local storage", e);
         }
     }
+    
+    /**
+     * Opens the stored object as a stream so callers can process it without
+     * buffering the whole file. The caller must close the returned stream.
+     */
+    public InputStream getFileStream(String objectNameOrPath) throws IOException {
+        return pipelineMetrics.time(ReceiptPipelineMetrics.STORAGE_READ, () -> openStream(objectNameOrPath));
+    }
+    
+    private InputStream openStream(String objectNameOrPath) throws IOException {
+        String objectName = objectNameOrPath;
+        if (objectNameOrPath.contains("/")) {
+            objectName = Paths.get(objectNameOrPath).getFileName().toString();
+        }
+        
+        try {
+            log.info("Streaming file from MinIO: {}", objectName);
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+        } catch (Exception e) {
+            Path localPath = Paths.get(objectNameOrPath);
+            if (Files.exists(localPath)) {
+                log.warn("MinIO download failed for '{}', streaming from local file system", objectNameOrPath);
+                return Files.newInputStream(localPath);
+            }
+            
+            log.error("Error streaming file from MinIO and no local fallback exists: {}", objectNameOrPath, e);
+            throw new IOException("Failed to open file from MinIO or local storage", e);
+        }
+    }
 }
-
@@ -1,13 +1,10 @@
 package com.receipthub.service;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -27,7 +24,12 @@ import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
 import com.receipthub.dto.ReceiptUploadResponse;
 import com.receipthub.dto.ReimbursementSubmitRequest;
+import com.receipthub.dto.UserIdentity;
+import com.receipthub.model.Receipt;
+import com.receipthub.model.TelegramConversation;
 import com.receipthub.model.User;
+import com.receipthub.service.conversation.ConversationState;
+import com.receipthub.service.conversation.ConversationStateStore;
 
 @Service
 public class TelegramBotService extends TelegramLongPollingBot {
@@ -40,49 +42,59 @@ public class TelegramBotService extends TelegramLongPollingBot {
     private final UserService userService;
     private final ReceiptService receiptService;
     private final ReimbursementService reimbursementService;
+    private final TelegramUpdateDispatcher updateDispatcher;
+    private final ConversationStateStore conversationStore;
+    private final ReceiptPipelineMetrics pipelineMetrics;
     
     public TelegramBotService(
             @Value("${telegram.bot.token}") String botToken,
             UserService userService,
             ReceiptService receiptService,
-            ReimbursementService reimbursementService) {
+            ReimbursementService reimbursementService,
+            TelegramUpdateDispatcher updateDispatcher,
+            ConversationStateStore conversationStore,
+            ReceiptPipelineMetrics pipelineMetrics) {
         super(botToken);
         this.userService = userService;
         this.receiptService = receiptService;
         this.reimbursementService = reimbursementService;
+        this.updateDispatcher = updateDispatcher;
+        this.conversationStore = conversationStore;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
-    private final Map<Long, PendingReceipt> pendingReceipts = new HashMap<>();
-
-    private static class PendingReceipt {
-        Long receiptId;
-        Double amount;
-        String merchantName;
-        
-        PendingReceipt(Long receiptId, Double amount, String merchantName) {
-            this.receiptId = receiptId;
-            this.amount = amount;
-            this.merchantName = merchantName;
-        }
-    }
     
     @Override
     public String getBotUsername() {
         return botUsername;
     }
     
+    /**
+     * Hands the update to the dispatcher so the polling thread is free for the
+     * next one; updates from the same chat are still handled in order.
+     */
     @Override
     public void onUpdateReceived(Update update) {
+        if (update.hasMessage()) {
+            updateDispatcher.dispatch(update.getMessage().getChatId(), () -> pipelineMetrics.time(
+                ReceiptPipelineMetrics.TELEGRAM_UPDATE, () -> {
+                    handleUpdate(update);
+                    return null;
+                }));
+        }
+    }
+    
+    private void handleUpdate(Update update) {
         if (update.hasMessage()) {
             Long chatId = update.getMessage().getChatId();
-            Optional<User> userOpt = userService.getUserByTelegramChatId(chatId);
+            Optional<UserIdentity> userOpt = userService.getUserByTelegramChatId(chatId);
             
             if (userOpt.isEmpty()) {
                 handleUnregisteredUser(update, chatId);
                 return;
             }
             
-            User user = userOpt.get();
+            UserIdentity user = userOpt.get();
             
 
             if (update.getMessage().hasPhoto()) {
@@ -243,8 +255,7 @@ public class TelegramBotService extends TelegramLongPollingBot {
         return "+" + input.replaceAll("[^0-9]", "");
     }
     
-    private void handlePhotoMessage(Update update, User user) {
-        File downloadedFile = null;
+    private void handlePhotoMessage(Update update, UserIdentity user) {
         try {
             PhotoSize photo = update.getMessage().getPhoto().stream()
                 .max(Comparator.comparing(PhotoSize::getFileSize))
@@ -255,79 +266,117 @@ public class TelegramBotService extends TelegramLongPollingBot {
                 org.telegram.telegrambots.meta.api.objects.File file = 
                     execute(new org.telegram.telegrambots.meta.api.methods.GetFile(photo.getFileId()));
                 
-                downloadedFile = downloadFile(file);
-                byte[] fileData = Files.readAllBytes(downloadedFile.toPath());
-                
-
-                ReceiptUploadResponse response = receiptService.uploadReceiptFromBytes(
-                    fileData, 
-                    "receipt_" + System.currentTimeMillis() + ".jpg"
-                );
-                
-
-                if (response.getMerchantName() == null || response.getMerchantName().equals("OCR Extraction Failed") 
-                    || response.getAmount() == null || response.getAmount() == 0.0) {
-
-                    receiptService.deleteReceipt(response.getReceiptId());
-                    
-                    sendMessage(user.getTelegramChatId(), 
-                        """
-                        Receipt Processing Failed
-                        
-                        We couldn't read the receipt properly. This could be because:
-                        • The image is too blurry or unclear
-                        • The receipt text is not readable
-                        • Poor lighting conditions
-                        
-                        Please try again with:
-                        ✓ Better lighting
-                        ✓ Clear, focused photo
-                        ✓ Receipt laid flat
-                        
-                        Send another receipt photo when ready!""");
-                    return;
-                }
-
-                PendingReceipt pendingReceipt = new PendingReceipt(
-                    response.getReceiptId(),
-                    response.getAmount(),
-                    response.getMerchantName()
-                );
-                pendingReceipts.put(user.getTelegramChatId(), pendingReceipt);
-
-                sendMessage(user.getTelegramChatId(), 
+                sendMessage(user.telegramChatId(), 
                     """
-                    Receipt uploaded successfully!
-                    
-                    Receipt Details (from OCR):
-                    Merchant: %s
-                    Amount: $%s
+                    Receipt received!
                     
-                    Please type a description for this expense:
-                    (e.g., "Team lunch", "Office supplies", "Client meeting dinner")"""
-                    .formatted(response.getMerchantName(), String.format("%.2f", response.getAmount())));
+                    Reading your receipt now, this usually takes a few seconds.
+                    I'll send you the details as soon as they're ready.""");
+
+                ReceiptUploadResponse response;
+                try (InputStream photoStream = downloadFileAsStream(file)) {
+                    response = receiptService.uploadReceiptFromStream(
+                        photoStream,
+                        file.getFileSize() != null ? Math.toIntExact(file.getFileSize()) : photo.getFileSize(),
+                        "receipt_" + System.currentTimeMillis() + ".jpg",
+                        user.telegramChatId()
+                    );
+                }
+                conversationStore.put(ConversationState.processing(user.telegramChatId(), response.getReceiptId()));
             }
         } catch (TelegramApiException | IOException e) {
-            sendMessage(user.getTelegramChatId(), 
+            sendMessage(user.telegramChatId(), 
                 """
                Error uploading receipt. Please try again or contact support.
                \s
                 Error details: %s"""
                 .formatted(e.getMessage()));
-        } finally {
+        }
+    }
+    
+    /**
+     * Follow-up for a receipt whose OCR finished on the worker pool. Queued
+     * behind the chat's pending updates so it never races with them.
+     */
+    public void handleOcrResult(Long chatId, Receipt receipt) {
+        updateDispatcher.dispatch(chatId, () -> pipelineMetrics.time(
+            ReceiptPipelineMetrics.TELEGRAM_OCR_RESULT, () -> {
+                pipelineMetrics.tagReceipt(receipt.getId());
+                completeOcrResult(chatId, receipt);
+                return null;
+            }));
+    }
+    
+    private void completeOcrResult(Long chatId, Receipt receipt) {
+        if (receipt.getOcrStatus() != Receipt.OcrStatus.COMPLETED
+            || receipt.getMerchantName() == null 
+            || receipt.getAmount() == null || receipt.getAmount() == 0.0) {
 
-            if (downloadedFile != null && downloadedFile.exists()) {
-                downloadedFile.delete();
-            }
+            conversationStore.remove(chatId, receipt.getId());
+            receiptService.deleteReceipt(receipt.getId());
+            
+            sendMessage(chatId, 
+                """
+                Receipt Processing Failed
+                
+                We couldn't read the receipt properly. This could be because:
+                • The image is too blurry or unclear
+                • The receipt text is not readable
+                • Poor lighting conditions
+                
+                Please try again with:
+                ✓ Better lighting
+                ✓ Clear, focused photo
+                ✓ Receipt laid flat
+                
+                Send another receipt photo when ready!""");
+            return;
         }
+
+        conversationStore.put(ConversationState.awaitingDescription(
+            chatId,
+            receipt.getId(),
+            receipt.getAmount(),
+            receipt.getMerchantName()
+        ));
+        
+        String duplicateWarning = receiptService.isDuplicateClaim(receipt)
+            ? "\n\nNote: this receipt looks identical to one already submitted for reimbursement."
+            : "";
+
+        sendMessage(chatId, 
+            """
+            Receipt uploaded successfully!
+            
+            Receipt Details (from OCR):
+            Merchant: %s
+            Amount: $%s%s
+            
+            Please type a description for this expense:
+            (e.g., "Team lunch", "Office supplies", "Client meeting dinner")"""
+            .formatted(receipt.getMerchantName(), String.format("%.2f", receipt.getAmount()), duplicateWarning));
     }
     
-    private void handleTextMessage(Update update, User user) {
+    private void handleTextMessage(Update update, UserIdentity user) {
         String text = update.getMessage().getText();
-        Long chatId = user.getTelegramChatId();
-        if (pendingReceipts.containsKey(chatId)) {
+        Long chatId = user.telegramChatId();
+        ConversationState state = conversationStore.get(chatId).orElse(null);
+        if (state != null && state.getStage() == TelegramConversation.Stage.PROCESSING) {
+            if (receiptService.isOcrPending(state.getReceiptId())) {
+                sendMessage(chatId, 
+                    """
+                    Your receipt is still being processed.
+                    
+                    I'll send you the details as soon as they're ready.""");
+                return;
+            }
+            conversationStore.remove(chatId, state.getReceiptId());
+            state = null;
+        }
+        
+        if (state != null) {
             if (text.equals("/start") || text.equals("/cancel")) {
-                pendingReceipts.remove(chatId);
+                conversationStore.remove(chatId);
                 sendMessage(chatId, 
                     """
                     Receipt submission cancelled.
@@ -337,18 +386,18 @@ public class TelegramBotService extends TelegramLongPollingBot {
             }
             
 
-            PendingReceipt pending = pendingReceipts.get(chatId);
+            ConversationState pending = state;
             
             try {
                 ReimbursementSubmitRequest reimbursementRequest = new ReimbursementSubmitRequest();
-                reimbursementRequest.setReceiptId(pending.receiptId);
-                reimbursementRequest.setUserId(user.getId());
-                reimbursementRequest.setRequestedAmount(pending.amount);
+                reimbursementRequest.setReceiptId(pending.getReceiptId());
+                reimbursementRequest.setUserId(user.id());
+                reimbursementRequest.setRequestedAmount(pending.getAmount());
                 reimbursementRequest.setDescription(text);
                 
                 reimbursementService.submitReimbursement(reimbursementRequest);
 
-                pendingReceipts.remove(chatId);
+                conversationStore.remove(chatId);
                 
                 sendMessage(chatId, 
                     """
@@ -360,7 +409,7 @@ public class TelegramBotService extends TelegramLongPollingBot {
                     Description: %s
                     
                     Your request is now pending admin approval. You'll be notified once it's reviewed."""
-                    .formatted(pending.merchantName, String.format("%.2f", pending.amount), text));
+                    .formatted(pending.getMerchantName(), String.format("%.2f", pending.getAmount()), text));
                 
             } catch (Exception e) {
                 sendMessage(chatId, 
@@ -369,7 +418,7 @@ public class TelegramBotService extends TelegramLongPollingBot {
                     
                     Please try again or contact support."""
                     .formatted(e.getMessage()));
-                pendingReceipts.remove(chatId);
+                conversationStore.remove(chatId);
             }
             return;
         }
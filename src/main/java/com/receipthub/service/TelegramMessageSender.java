@@ -0,0 +1,316 @@
+package com.receipthub.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.bots.AbsSender;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import com.receipthub.model.OutboundMessage;
+import com.receipthub.repository.OutboundMessageRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Outbound queue for bot notifications, backed by the
+ * {@code outbound_messages} table. Messages are written in the caller's
+ * transaction and sent by a single background thread that respects a global
+ * and a per-chat token bucket, honours {@code retry_after} on 429 responses
+ * and merges everything waiting for the same chat into one digest message.
+ * A message is marked sent only after Telegram accepted it; failed sends are
+ * retried with backoff instead of being dropped silently.
+ */
+@Component
+public class TelegramMessageSender {
+    
+    private static final Logger log = LoggerFactory.getLogger(TelegramMessageSender.class);
+    
+    static final int MAX_MESSAGE_LENGTH = 4096;
+    private static final int MAX_DIGEST_MESSAGES = 50;
+    private static final int MAX_CHATS_PER_TICK = 100;
+    private static final String DIGEST_HEADER = "You have %d new notifications:\n\n";
+    private static final String DIGEST_SEPARATOR = "\n\n――――――――――\n\n";
+    
+    private final AbsSender telegramSender;
+    private final OutboundMessageRepository outboundMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final TokenBucket globalBucket;
+    private final double perChatPerSecond;
+    private final int perChatBurst;
+    private final int maxAttempts;
+    private final long tickMs;
+    
+    private final Map<Long, TokenBucket> chatBuckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        runnable -> Thread.ofPlatform().name("tg-outbound").daemon().unstarted(runnable));
+    
+    private final Counter sentCounter;
+    private final Counter coalescedCounter;
+    private final Counter rateLimitedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    
+    @Value("${outbox.retention-days}")
+    private long retentionDays;
+    
+    @Autowired
+    public TelegramMessageSender(
+            TelegramBotService telegramBotService,
+            OutboundMessageRepository outboundMessageRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${telegram.outbound.global-per-second}") double globalPerSecond,
+            @Value("${telegram.outbound.per-chat-per-second}") double perChatPerSecond,
+            @Value("${telegram.outbound.per-chat-burst}") int perChatBurst,
+            @Value("${telegram.outbound.max-attempts}") int maxAttempts,
+            @Value("${telegram.outbound.tick-ms}") long tickMs) {
+        this(telegramBotService, outboundMessageRepository, transactionManager, meterRegistry,
+            globalPerSecond, perChatPerSecond, perChatBurst, maxAttempts, tickMs, Clock.systemDefaultZone());
+    }
+    
+    TelegramMessageSender(AbsSender telegramSender, OutboundMessageRepository outboundMessageRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, double globalPerSecond,
+            double perChatPerSecond, int perChatBurst, int maxAttempts, long tickMs, Clock clock) {
+        this.telegramSender = telegramSender;
+        this.outboundMessageRepository = outboundMessageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.globalBucket = new TokenBucket(globalPerSecond, Math.max(1, (int) globalPerSecond), nanoTime());
+        this.perChatPerSecond = perChatPerSecond;
+        this.perChatBurst = perChatBurst;
+        this.maxAttempts = maxAttempts;
+        this.tickMs = tickMs;
+        
+        Gauge.builder("telegram.outbound.queued", this, TelegramMessageSender::getQueued)
+            .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("telegram.outbound.sent");
+        this.coalescedCounter = meterRegistry.counter("telegram.outbound.coalesced");
+        this.rateLimitedCounter = meterRegistry.counter("telegram.outbound.rate_limited");
+        this.retriedCounter = meterRegistry.counter("telegram.outbound.retried");
+        this.failedCounter = meterRegistry.counter("telegram.outbound.failed");
+    }
+    
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::drainSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Queues {@code text} for {@code chatId}. Joins the caller's transaction,
+     * so the message is only sent if that transaction commits.
+     */
+    public void enqueue(Long chatId, String text) {
+        if (chatId == null || text == null) {
+            return;
+        }
+        OutboundMessage message = new OutboundMessage();
+        message.setChatId(chatId);
+        message.setText(text);
+        message.setNextAttemptAt(LocalDateTime.now(clock));
+        outboundMessageRepository.save(message);
+    }
+    
+    public long getQueued() {
+        return outboundMessageRepository.countByStatus(OutboundMessage.Status.PENDING);
+    }
+    
+    @Scheduled(cron = "${outbox.purge-cron}")
+    public void purgeSent() {
+        Integer purged = transactionTemplate.execute(status ->
+            outboundMessageRepository.deleteSentBefore(LocalDateTime.now(clock).minusDays(retentionDays)));
+        log.info("Purged {} sent Telegram messages", purged);
+    }
+    
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.error("Error draining Telegram outbound queue: {}", e.getMessage(), e);
+        }
+    }
+    
+    void drain() {
+        List<Long> chatIds = outboundMessageRepository.findSendableChatIds(
+            LocalDateTime.now(clock), Limit.of(MAX_CHATS_PER_TICK));
+        
+        for (Long chatId : chatIds) {
+            long now = nanoTime();
+            TokenBucket chatBucket = chatBuckets.computeIfAbsent(chatId,
+                id -> new TokenBucket(perChatPerSecond, perChatBurst, now));
+            if (!chatBucket.available(now)) {
+                continue;
+            }
+            if (!globalBucket.tryAcquire(now)) {
+                return;
+            }
+            chatBucket.tryAcquire(now);
+            transactionTemplate.executeWithoutResult(status -> sendDigest(chatId));
+        }
+        
+        long now = nanoTime();
+        chatBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+    
+    private void sendDigest(Long chatId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<OutboundMessage> batch = takeDigest(outboundMessageRepository.lockSendable(chatId, now, MAX_DIGEST_MESSAGES));
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        SendMessage message = new SendMessage();
+        message.setChatId(chatId.toString());
+        message.setText(digestOf(batch.stream().map(OutboundMessage::getText).toList()));
+        
+        try {
+            telegramSender.execute(message);
+            for (OutboundMessage sent : batch) {
+                sent.setStatus(OutboundMessage.Status.SENT);
+                sent.setSentAt(now);
+                sent.setLastError(null);
+            }
+            sentCounter.increment();
+            coalescedCounter.increment(batch.size() - 1);
+        } catch (TelegramApiRequestException e) {
+            if (e.getErrorCode() != null && e.getErrorCode() == 429) {
+                int retryAfter = e.getParameters() != null && e.getParameters().getRetryAfter() != null
+                    ? e.getParameters().getRetryAfter()
+                    : 1;
+                rateLimitedCounter.increment();
+                log.warn("Telegram rate limit hit for chat {}, retrying in {}s", chatId, retryAfter);
+                outboundMessageRepository.postponeChat(chatId, now.plusSeconds(retryAfter));
+                return;
+            }
+            handleFailure(chatId, batch, now, e);
+        } catch (TelegramApiException e) {
+            handleFailure(chatId, batch, now, e);
+        }
+    }
+    
+    private void handleFailure(Long chatId, List<OutboundMessage> batch, LocalDateTime now, TelegramApiException e) {
+        String error = e.getMessage() != null && e.getMessage().length() > 1000
+            ? e.getMessage().substring(0, 1000)
+            : e.getMessage();
+        int attempts = 0;
+        for (OutboundMessage failed : batch) {
+            failed.setAttempts(failed.getAttempts() + 1);
+            failed.setLastError(error);
+            attempts = Math.max(attempts, failed.getAttempts());
+            if (failed.getAttempts() >= maxAttempts) {
+                failed.setStatus(OutboundMessage.Status.FAILED);
+            }
+        }
+        
+        if (attempts >= maxAttempts) {
+            log.error("Dropping {} Telegram message(s) for chat {} after {} attempts: {}",
+                batch.size(), chatId, attempts, e.getMessage());
+            failedCounter.increment(batch.size());
+            return;
+        }
+        long backoffSeconds = 1L << Math.min(attempts, 6);
+        log.warn("Failed to send Telegram message to chat {} (attempt {}), retrying in {}s: {}",
+            chatId, attempts, backoffSeconds, e.getMessage());
+        retriedCounter.increment();
+        outboundMessageRepository.postponeChat(chatId, now.plusSeconds(backoffSeconds));
+    }
+    
+    /**
+     * Takes as many of the oldest messages as fit into one Telegram message.
+     */
+    private static List<OutboundMessage> takeDigest(List<OutboundMessage> pending) {
+        List<OutboundMessage> batch = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        for (OutboundMessage message : pending) {
+            texts.add(message.getText());
+            if (!batch.isEmpty() && digestOf(texts).length() > MAX_MESSAGE_LENGTH) {
+                break;
+            }
+            batch.add(message);
+        }
+        return batch;
+    }
+    
+    static String digestOf(List<String> batch) {
+        if (batch.size() == 1) {
+            return batch.get(0);
+        }
+        return DIGEST_HEADER.formatted(batch.size()) + String.join(DIGEST_SEPARATOR, batch);
+    }
+    
+    private long nanoTime() {
+        return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+    }
+    
+    /**
+     * Classic token bucket refilled continuously at {@code ratePerSecond}.
+     */
+    static final class TokenBucket {
+        
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+        
+        TokenBucket(double ratePerSecond, int capacity, long now) {
+            this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+        
+        synchronized boolean available(long now) {
+            refill(now);
+            return tokens >= 1;
+        }
+        
+        synchronized boolean tryAcquire(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+        
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+        
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+                lastRefill = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.receipthub.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs bot work off the polling thread while keeping it strictly ordered per
+ * chat. Each chat has a chain of tasks: a new task runs after the previous
+ * one for the same chat finishes, while different chats run concurrently on
+ * the {@code telegramUpdateExecutor}. Idle chains are dropped, so the map
+ * only holds chats with work in flight.
+ */
+@Component
+public class TelegramUpdateDispatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(TelegramUpdateDispatcher.class);
+    
+    private final ExecutorService executor;
+    private final Map<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
+    
+    public TelegramUpdateDispatcher(@Qualifier("telegramUpdateExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry) {
+        this.executor = executor;
+        Gauge.builder("telegram.updates.active.chats", tails, Map::size)
+            .description("Chats with Telegram updates queued or in flight")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Queues {@code task} behind the chat's pending work. The caller's
+     * observation is carried over, so spans of the task join its trace.
+     */
+    public void dispatch(Long chatId, Runnable task) {
+        Runnable traced = contextSnapshots.captureAll().wrap(task);
+        CompletableFuture<Void> next = tails.compute(chatId, (id, tail) -> {
+            CompletableFuture<Void> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+            return previous.thenRunAsync(() -> run(chatId, traced), executor);
+        });
+        next.whenComplete((result, error) -> tails.remove(chatId, next));
+    }
+    
+    public int getActiveChats() {
+        return tails.size();
+    }
+    
+    private void run(Long chatId, Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("Error handling Telegram update for chat {}: {}", chatId, e.getMessage(), e);
+        }
+    }
+}
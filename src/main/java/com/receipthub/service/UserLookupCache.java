@@ -0,0 +1,86 @@
+package com.receipthub.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.receipthub.dto.UserIdentity;
+import com.receipthub.model.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through caches for user lookups on the bot and web hot paths. Entries
+ * are immutable {@link UserIdentity} snapshots rather than entities, so
+ * nothing can modify or lazily load through a shared instance. Misses are
+ * cached too, so unregistered chats do not reach the database on every
+ * message. {@link UserService} writes go to the repository and then call
+ * {@link #evict(User)}. Authentication does not use these caches.
+ */
+@Component
+public class UserLookupCache {
+    
+    private final Cache<Long, Optional<UserIdentity>> byId;
+    private final Cache<Long, Optional<UserIdentity>> byChatId;
+    private final Cache<String, Optional<UserIdentity>> byEmail;
+    private final Cache<User.UserRole, List<UserIdentity>> byRole;
+    
+    public UserLookupCache(MeterRegistry meterRegistry,
+            @Value("${user.cache.ttl-seconds}") long ttlSeconds,
+            @Value("${user.cache.max-entries}") long maxEntries) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.byId = build(meterRegistry, "users.by-id", ttl, maxEntries);
+        this.byChatId = build(meterRegistry, "users.by-chat-id", ttl, maxEntries);
+        this.byEmail = build(meterRegistry, "users.by-email", ttl, maxEntries);
+        this.byRole = build(meterRegistry, "users.by-role", ttl, User.UserRole.values().length);
+    }
+    
+    public Optional<UserIdentity> getById(Long id, Function<Long, Optional<User>> loader) {
+        return byId.get(id, key -> loader.apply(key).map(UserIdentity::of));
+    }
+    
+    public Optional<UserIdentity> getByChatId(Long chatId, Function<Long, Optional<User>> loader) {
+        return byChatId.get(chatId, key -> loader.apply(key).map(UserIdentity::of));
+    }
+    
+    public Optional<UserIdentity> getByEmail(String email, Function<String, Optional<User>> loader) {
+        return byEmail.get(email, key -> loader.apply(key).map(UserIdentity::of));
+    }
+    
+    public List<UserIdentity> getByRole(User.UserRole role, Function<User.UserRole, List<User>> loader) {
+        return byRole.get(role, key -> loader.apply(key).stream().map(UserIdentity::of).toList());
+    }
+    
+    /**
+     * Drops every entry the given state of a user can be found under. Call it
+     * with both the old and the new state when a key changes.
+     */
+    public void evict(User user) {
+        if (user.getId() != null) {
+            byId.invalidate(user.getId());
+        }
+        if (user.getTelegramChatId() != null) {
+            byChatId.invalidate(user.getTelegramChatId());
+        }
+        if (user.getEmail() != null) {
+            byEmail.invalidate(user.getEmail());
+        }
+        byRole.invalidateAll();
+    }
+    
+    private static <K, V> Cache<K, V> build(MeterRegistry meterRegistry, String name, Duration ttl, long maxEntries) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxEntries)
+            .recordStats()
+            .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+}
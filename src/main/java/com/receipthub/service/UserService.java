@@ -3,12 +3,17 @@ package com.receipthub.service;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.receipthub.dto.CursorPage;
+import com.receipthub.dto.EmployeeResponse;
+import com.receipthub.dto.UserIdentity;
 import com.receipthub.model.User;
 import com.receipthub.repository.UserRepository;
 
@@ -19,21 +24,42 @@ import lombok.RequiredArgsConstructor;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    
+    @Value("${user.search.fulltext:false}")
+    private boolean fullTextSearch;
     
     public void createUser(User user) {
         userRepository.save(user);
+        userLookupCache.evict(user);
     }
     
-    public User getUserById(Long id) {
-        return userRepository.findById(id)
+    public UserIdentity getUserById(Long id) {
+        return userLookupCache.getById(id, userRepository::findById)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
     
-    public Optional<User> getUserByTelegramChatId(Long chatId) {
-        return userRepository.findByTelegramChatId(chatId);
+    /**
+     * Reference to an existing user for setting associations, without
+     * loading the row.
+     */
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(getUserById(id).id());
+    }
+    
+    public Optional<UserIdentity> getUserByTelegramChatId(Long chatId) {
+        return userLookupCache.getByChatId(chatId, userRepository::findByTelegramChatId);
     }
     
-    public Optional<User> getUserByEmail(String email) {
+    public Optional<UserIdentity> getUserByEmail(String email) {
+        return userLookupCache.getByEmail(email, userRepository::findByEmail);
+    }
+    
+    /**
+     * Uncached lookup for authentication, so a changed password or role
+     * applies on the next login.
+     */
+    public Optional<User> loadUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
     
@@ -42,21 +68,26 @@ public class UserService {
     }
     
     public void linkTelegramChatId(Long userId, Long chatId) {
-        User user = getUserById(userId);
+        User user = loadUser(userId);
+        userLookupCache.evict(user);
         user.setTelegramChatId(chatId);
         userRepository.save(user);
+        userLookupCache.evict(user);
     }
     
-    public List<User> getAdminUsers() {
-        return userRepository.findByRole(User.UserRole.ADMIN);
+    public List<UserIdentity> getAdminUsers() {
+        return userLookupCache.getByRole(User.UserRole.ADMIN, userRepository::findByRole);
     }
     
     public void updateUser(Long id, User updatedUser) {
-        User user = getUserById(id);
+        User user = loadUser(id);
+        userLookupCache.evict(user);
         user.setName(updatedUser.getName());
         user.setEmail(updatedUser.getEmail());
+        user.setPhoneNumber(updatedUser.getPhoneNumber());
         user.setRole(updatedUser.getRole());
         userRepository.save(user);
+        userLookupCache.evict(user);
     }
     
     public Page<User> getAllUsers(int page, int size) {
@@ -65,11 +96,81 @@ public class UserService {
     }
     
     public Page<User> searchUsers(String search, int page, int size) {
+        if (fullTextSearch) {
+            String terms = toFullTextTerms(search);
+            if (terms != null) {
+                // ordering is part of the native query
+                return userRepository.searchFullText(terms, PageRequest.of(page, size));
+            }
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "name"));
         return userRepository.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(search, search, pageable);
     }
     
+    /**
+     * Turns free text into a boolean-mode expression where every word is a
+     * required prefix, e.g. {@code "john smi"} becomes {@code "+john* +smi*"}.
+     * Returns null when a word is shorter than InnoDB's default minimum token
+     * size (3) or nothing searchable is left, so the caller falls back to the
+     * LIKE query.
+     */
+    private static String toFullTextTerms(String search) {
+        if (search == null) {
+            return null;
+        }
+        StringBuilder terms = new StringBuilder();
+        for (String word : search.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() < 3) {
+                return null;
+            }
+            if (!terms.isEmpty()) {
+                terms.append(' ');
+            }
+            terms.append('+').append(word).append('*');
+        }
+        return terms.isEmpty() ? null : terms.toString();
+    }
+    
+    /**
+     * Keyset-paginated employee listing ordered by name.
+     *
+     * @param search optional name/email filter
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     */
+    public CursorPage<EmployeeResponse> getUsersPage(String search, String cursor, int size, boolean includeCount) {
+        String filter = search != null && !search.isBlank() ? search.trim() : null;
+        Limit limit = Limit.of(size + 1);
+        List<EmployeeResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userRepository.findEmployeesFirst(filter, limit);
+        } else {
+            PageCursor.Name after = PageCursor.decodeName(cursor);
+            rows = userRepository.findEmployeesAfter(filter, after.name(), after.id(), limit);
+        }
+        
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            EmployeeResponse last = rows.get(size - 1);
+            nextCursor = PageCursor.encode(new PageCursor.Name(last.getName(), last.getId()));
+        }
+        Long total = includeCount ? userRepository.countEmployees(filter) : null;
+        return new CursorPage<>(rows, nextCursor, total);
+    }
+    
     public void deleteUser(Long id) {
+        userRepository.findById(id).ifPresent(userLookupCache::evict);
         userRepository.deleteById(id);
     }
+    
+    /**
+     * Loads a user for modification, bypassing the shared cached instance.
+     */
+    private User loadUser(Long id) {
+        return userRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+    }
 }
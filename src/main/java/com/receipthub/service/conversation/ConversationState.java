@@ -0,0 +1,32 @@
+package com.receipthub.service.conversation;
+
+import com.receipthub.model.TelegramConversation.Stage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Where a Telegram chat is in the receipt flow.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationState {
+    
+    private Long chatId;
+    private Stage stage;
+    private Long receiptId;
+    private Double amount;
+    private String merchantName;
+    
+    public static ConversationState processing(Long chatId, Long receiptId) {
+        return new ConversationState(chatId, Stage.PROCESSING, receiptId, null, null);
+    }
+    
+    public static ConversationState awaitingDescription(Long chatId, Long receiptId, Double amount, String merchantName) {
+        return new ConversationState(chatId, Stage.AWAITING_DESCRIPTION, receiptId, amount, merchantName);
+    }
+}
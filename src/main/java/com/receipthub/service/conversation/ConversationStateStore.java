@@ -0,0 +1,25 @@
+package com.receipthub.service.conversation;
+
+import java.util.Optional;
+
+/**
+ * Per-chat conversation state for the bot. Entries expire after
+ * {@code telegram.conversation.ttl-minutes} without an update, so abandoned
+ * flows do not pile up. Pick the implementation with
+ * {@code telegram.conversation.store}: {@code memory} for a single node,
+ * {@code database} when several nodes share bot traffic or state must
+ * survive a restart.
+ */
+public interface ConversationStateStore {
+    
+    Optional<ConversationState> get(Long chatId);
+    
+    void put(ConversationState state);
+    
+    void remove(Long chatId);
+    
+    /**
+     * Removes the state only if it still refers to {@code receiptId}.
+     */
+    void remove(Long chatId, Long receiptId);
+}
@@ -0,0 +1,77 @@
+package com.receipthub.service.conversation;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.receipthub.model.TelegramConversation;
+import com.receipthub.repository.TelegramConversationRepository;
+
+/**
+ * Store backed by the {@code telegram_conversations} table, shared by all
+ * nodes. Expired rows are ignored on read and purged periodically.
+ */
+@Component
+@ConditionalOnProperty(name = "telegram.conversation.store", havingValue = "database")
+public class DatabaseConversationStateStore implements ConversationStateStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConversationStateStore.class);
+    
+    private final TelegramConversationRepository conversationRepository;
+    private final long ttlMinutes;
+    
+    public DatabaseConversationStateStore(
+            TelegramConversationRepository conversationRepository,
+            @Value("${telegram.conversation.ttl-minutes}") long ttlMinutes) {
+        this.conversationRepository = conversationRepository;
+        this.ttlMinutes = ttlMinutes;
+    }
+    
+    @Override
+    public Optional<ConversationState> get(Long chatId) {
+        return conversationRepository.findById(chatId)
+            .filter(conversation -> conversation.getExpiresAt().isAfter(LocalDateTime.now()))
+            .map(conversation -> new ConversationState(
+                conversation.getChatId(),
+                conversation.getStage(),
+                conversation.getReceiptId(),
+                conversation.getAmount(),
+                conversation.getMerchantName()));
+    }
+    
+    @Override
+    public void put(ConversationState state) {
+        TelegramConversation conversation = new TelegramConversation();
+        conversation.setChatId(state.getChatId());
+        conversation.setStage(state.getStage());
+        conversation.setReceiptId(state.getReceiptId());
+        conversation.setAmount(state.getAmount());
+        conversation.setMerchantName(state.getMerchantName());
+        conversation.setExpiresAt(LocalDateTime.now().plusMinutes(ttlMinutes));
+        conversationRepository.save(conversation);
+    }
+    
+    @Override
+    public void remove(Long chatId) {
+        conversationRepository.deleteById(chatId);
+    }
+    
+    @Override
+    public void remove(Long chatId, Long receiptId) {
+        conversationRepository.deleteByChatIdAndReceiptId(chatId, receiptId);
+    }
+    
+    @Scheduled(fixedDelayString = "${telegram.conversation.purge-interval-ms}")
+    public void purgeExpired() {
+        int purged = conversationRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired Telegram conversations", purged);
+        }
+    }
+}
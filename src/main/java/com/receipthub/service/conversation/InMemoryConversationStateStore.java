@@ -0,0 +1,52 @@
+package com.receipthub.service.conversation;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Size-bounded, expiring store local to this JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "telegram.conversation.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryConversationStateStore implements ConversationStateStore {
+    
+    private final Cache<Long, ConversationState> states;
+    
+    public InMemoryConversationStateStore(
+            @Value("${telegram.conversation.max-entries}") long maxEntries,
+            @Value("${telegram.conversation.ttl-minutes}") long ttlMinutes) {
+        this.states = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .build();
+    }
+    
+    @Override
+    public Optional<ConversationState> get(Long chatId) {
+        return Optional.ofNullable(states.getIfPresent(chatId));
+    }
+    
+    @Override
+    public void put(ConversationState state) {
+        states.put(state.getChatId(), state);
+    }
+    
+    @Override
+    public void remove(Long chatId) {
+        states.invalidate(chatId);
+    }
+    
+    @Override
+    public void remove(Long chatId, Long receiptId) {
+        states.asMap().computeIfPresent(chatId,
+            (id, state) -> Objects.equals(state.getReceiptId(), receiptId) ? null : state);
+    }
+}
@@ -0,0 +1,29 @@
+package com.receipthub.service.ocr;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Receipt image already held in memory. Each stream reads the same array, so
+ * engines can retry without copying it.
+ */
+public class BufferedReceiptImage implements ReceiptImage {
+    
+    private final String fileName;
+    private final byte[] data;
+    
+    public BufferedReceiptImage(String fileName, byte[] data) {
+        this.fileName = fileName;
+        this.data = data;
+    }
+    
+    @Override
+    public String getFileName() {
+        return fileName;
+    }
+    
+    @Override
+    public InputStream openStream() {
+        return new ByteArrayInputStream(data);
+    }
+}
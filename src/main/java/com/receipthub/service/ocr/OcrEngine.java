@@ -0,0 +1,18 @@
+package com.receipthub.service.ocr;
+
+/**
+ * Extracts raw text from a receipt image. Implementations are selected and
+ * ordered by {@link OcrEngineRouter}.
+ */
+public interface OcrEngine {
+    
+    /**
+     * Name used in the {@code ocr.engine.*} configuration.
+     */
+    String getName();
+    
+    /**
+     * @return the extracted text, or null/empty if nothing could be read
+     */
+    String extractText(ReceiptImage image) throws Exception;
+}
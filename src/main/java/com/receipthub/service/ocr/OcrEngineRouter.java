@@ -0,0 +1,93 @@
+package com.receipthub.service.ocr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.receipthub.service.ReceiptPipelineMetrics;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * Chooses which {@link OcrEngine}s handle an image, and in what order.
+ * {@code ocr.engine.route} is a comma-separated list of engine names, e.g.
+ * {@code tesseract,ocr-space} for local-first with remote fallback. The next
+ * engine is tried when one fails or returns no text.
+ * <p>
+ * Each engine has its own circuit breaker, named after the engine, so a
+ * failing local binary does not stop calls to the remote API or the other
+ * way round. An engine whose breaker is open is skipped.
+ */
+@Component
+public class OcrEngineRouter {
+    
+    private static final Logger log = LoggerFactory.getLogger(OcrEngineRouter.class);
+    
+    private record Route(OcrEngine engine, CircuitBreaker circuitBreaker) {
+    }
+    
+    private final List<Route> route;
+    private final ReceiptPipelineMetrics pipelineMetrics;
+    
+    public OcrEngineRouter(List<OcrEngine> engines, @Value("${ocr.engine.route}") List<String> routeNames,
+            CircuitBreakerRegistry circuitBreakerRegistry, ReceiptPipelineMetrics pipelineMetrics) {
+        this.pipelineMetrics = pipelineMetrics;
+        Map<String, OcrEngine> byName = engines.stream()
+            .collect(Collectors.toMap(OcrEngine::getName, Function.identity()));
+        
+        List<Route> resolved = new ArrayList<>();
+        for (String name : routeNames) {
+            OcrEngine engine = byName.get(name.trim());
+            if (engine == null) {
+                throw new IllegalStateException("Unknown OCR engine '" + name.trim() + "', available: " + byName.keySet());
+            }
+            resolved.add(new Route(engine, circuitBreakerRegistry.circuitBreaker(engine.getName())));
+        }
+        if (resolved.isEmpty()) {
+            throw new IllegalStateException("ocr.engine.route must name at least one OCR engine");
+        }
+        
+        this.route = List.copyOf(resolved);
+        log.info("OCR engine route: {}", route.stream().map(r -> r.engine().getName()).toList());
+    }
+    
+    /**
+     * @return text from the first engine that produced any
+     * @throws Exception the last engine's failure if none produced text
+     */
+    public String extractText(ReceiptImage image) throws Exception {
+        Exception lastFailure = null;
+        
+        for (Route next : route) {
+            OcrEngine engine = next.engine();
+            try {
+                String text = pipelineMetrics.timeEngine(engine.getName(),
+                    () -> next.circuitBreaker().executeCallable(() -> engine.extractText(image)));
+                if (text != null && !text.isBlank()) {
+                    log.info("OCR engine '{}' extracted text from {}", engine.getName(), image.getFileName());
+                    return text;
+                }
+                log.warn("OCR engine '{}' returned no text for {}", engine.getName(), image.getFileName());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            } catch (Exception e) {
+                log.warn("OCR engine '{}' failed for {}: {}", engine.getName(), image.getFileName(), e.getMessage());
+                lastFailure = e;
+            }
+        }
+        
+        if (lastFailure != null) {
+            throw lastFailure;
+        }
+        return null;
+    }
+}
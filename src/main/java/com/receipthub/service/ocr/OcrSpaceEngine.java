@@ -0,0 +1,144 @@
+package com.receipthub.service.ocr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Remote engine backed by the OCR.space REST API.
+ */
+@Component
+@RequiredArgsConstructor
+public class OcrSpaceEngine implements OcrEngine {
+    
+    private static final Logger log = LoggerFactory.getLogger(OcrSpaceEngine.class);
+    
+    private static final String OCR_API_URL = "https://api.ocr.space/parse/image";
+    
+    private final RestTemplate ocrRestTemplate;
+    
+    @Value("${ocr.api.key}")
+    private String apiKey;
+    
+    @Override
+    public String getName() {
+        return "ocr-space";
+    }
+    
+    @Override
+    public String extractText(ReceiptImage image) throws Exception {
+        try (InputStream imageStream = image.openStream()) {
+            return callOcrApi(imageStream, image.getFileName());
+        }
+    }
+    
+    /**
+     * Sends the image as a binary multipart file part. The part is copied from
+     * the storage stream to the connection through a small fixed buffer, so
+     * the image is never held in memory as a whole.
+     * <p>
+     * Transport errors and 4xx/5xx responses propagate from the
+     * {@link RestTemplate}; a response OCR.space marks as errored is thrown
+     * as an {@link IOException}, so the router's breaker counts both.
+     * Returns null only when the image was processed and no text was found.
+     */
+    private String callOcrApi(InputStream imageStream, String fileName) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        HttpHeaders fileHeaders = new HttpHeaders();
+        fileHeaders.setContentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.IMAGE_JPEG));
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new HttpEntity<>(new StreamingFileResource(imageStream, fileName), fileHeaders));
+        body.add("apikey", apiKey);
+        body.add("language", "eng");
+        body.add("isOverlayRequired", "false");
+        body.add("detectOrientation", "true");
+        body.add("scale", "true");
+        body.add("OCREngine", "2"); // Use OCR Engine 2 for better accuracy
+
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+
+        @SuppressWarnings("unchecked")
+        ResponseEntity<Map<String, Object>> response = (ResponseEntity<Map<String, Object>>) (ResponseEntity<?>) ocrRestTemplate.exchange(
+            OCR_API_URL,
+            HttpMethod.POST,
+            requestEntity,
+            Map.class
+        );
+        
+        Map<String, Object> responseBody = response.getBody();
+        if (response.getStatusCode() != HttpStatus.OK || responseBody == null) {
+            throw new IOException("OCR.space responded with " + response.getStatusCode() + " and no result");
+        }
+        
+        if (Boolean.TRUE.equals(responseBody.get("IsErroredOnProcessing")) || responseBody.get("ErrorMessage") != null) {
+            throw new IOException("OCR.space error: " + errorMessage(responseBody.get("ErrorMessage")));
+        }
+        
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> parsedResults = (List<Map<String, Object>>) responseBody.get("ParsedResults");
+        if (parsedResults == null || parsedResults.isEmpty()) {
+            log.warn("OCR.space returned no parsed results for {}", fileName);
+            return null;
+        }
+        
+        return (String) parsedResults.getFirst().get("ParsedText");
+    }
+    
+    /**
+     * {@code ErrorMessage} is a list of strings for most failures but a plain
+     * string for some, e.g. an invalid API key.
+     */
+    private static String errorMessage(Object errorMessage) {
+        if (errorMessage instanceof List<?> errors && !errors.isEmpty()) {
+            return errors.stream().map(String::valueOf).collect(Collectors.joining("; "));
+        }
+        return errorMessage != null ? errorMessage.toString() : "processing failed";
+    }
+    
+    /**
+     * Single-use stream resource with a file name, so it is written as a file
+     * part. Reports an unknown length instead of reading the stream to count it.
+     */
+    private static class StreamingFileResource extends InputStreamResource {
+        
+        private final String fileName;
+        
+        StreamingFileResource(InputStream inputStream, String fileName) {
+            super(inputStream);
+            this.fileName = fileName;
+        }
+        
+        @Override
+        public String getFilename() {
+            return fileName;
+        }
+        
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.receipthub.service.ocr;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Image handed to an {@link OcrEngine}. {@link #openStream()} may be called
+ * more than once, so a router can retry the same image on another engine.
+ */
+public interface ReceiptImage {
+    
+    String getFileName();
+    
+    InputStream openStream() throws IOException;
+}
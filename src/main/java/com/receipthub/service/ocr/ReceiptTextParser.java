@@ -0,0 +1,299 @@
+package com.receipthub.service.ocr;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.receipthub.dto.OcrDataResponse;
+
+/**
+ * Extracts merchant, total and transaction date from raw OCR text.
+ * <p>
+ * Patterns are compiled once, the merchant scan walks the text line by line
+ * without splitting or lower-casing it, and dates are parsed by reading the
+ * fields of the matched regex group instead of trying formatters until one
+ * stops throwing. Results are the same as the formatter-based parser: numeric
+ * dates need two-digit day and month, both separators must be {@code /} or
+ * both {@code -}, day-first is preferred over month-first, and a day past the
+ * end of the month is clamped to its last day.
+ */
+@Component
+public class ReceiptTextParser {
+    
+    public static final String UNKNOWN_MERCHANT = "Unknown Merchant";
+    
+    private static final Pattern AMOUNT_PATTERN = Pattern.compile(
+        "(?:SUB\\s+TOTAL|SUBTOTAL|TOTAL|AMOUNT|GRAND\\s+TOTAL|BALANCE\\s+DUE|TOTAL\\s+DUE|PAID)" +
+        "\\s*:?\\s*" +
+        "\\$?\\s*" +
+        "((?:[0-9]{1,3}(?:,\\s?[0-9]{3})*|[0-9]+)\\.?\\s?[0-9]{2})",
+        Pattern.CASE_INSENSITIVE
+    );
+    
+    private static final Pattern FALLBACK_AMOUNT_PATTERN = Pattern.compile("([0-9]+\\.\\s?[0-9]{2})");
+    
+    private static final double FALLBACK_AMOUNT_LIMIT = 10000;
+    
+    private static final String MONTH_REGEX = "(?:Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*";
+    
+    private static final int DAY_MONTH_YEAR = 1;
+    private static final int YEAR_MONTH_DAY = 2;
+    
+    private static final Pattern DATE_PATTERN = Pattern.compile(
+        // 1. dd/mm/yyyy, mm/dd/yyyy, dd-mm-yyyy, dd.mm.yyyy
+        "(\\d{1,2}[/.-]\\d{1,2}[/.-]\\d{2,4})|" +
+        // 2. yyyy-mm-dd, yyyy/mm/dd, yyyy.mm.dd
+        "(\\d{4}[/.-]\\d{1,2}[/.-]\\d{1,2})|" +
+        // 3. Jan 01, 2025 or January 1st, 2025
+        "(" + MONTH_REGEX + "[\\s,.]+\\d{1,2}(?:st|nd|rd|th)?[\\s,.]+\\d{2,4})|" +
+        // 4. 01 Jan 2025 or 1-Jan-2025
+        "(\\d{1,2}[\\s,.-]+" + MONTH_REGEX + "[\\s,.-]+\\d{2,4})",
+        Pattern.CASE_INSENSITIVE
+    );
+    
+    private static final String[] MERCHANT_KEYWORDS = {"store", "mart", "shop", "restaurant", "cafe", "market"};
+    
+    private final Clock clock;
+    
+    public ReceiptTextParser() {
+        this(Clock.systemDefaultZone());
+    }
+    
+    ReceiptTextParser(Clock clock) {
+        this.clock = clock;
+    }
+    
+    public OcrDataResponse parse(String text) {
+        OcrDataResponse response = new OcrDataResponse();
+        response.setMerchantName(extractMerchantName(text));
+        response.setAmount(extractAmount(text));
+        response.setTransactionDate(extractDate(text));
+        return response;
+    }
+    
+    /**
+     * First line that looks like a name: not just digits, no numeric date,
+     * and either longer than five characters or containing a shop keyword.
+     * Falls back to the first line longer than three characters.
+     */
+    public String extractMerchantName(String text) {
+        int fallbackStart = -1;
+        int fallbackEnd = -1;
+        int length = text.length();
+        int lineStart = 0;
+        
+        while (lineStart <= length) {
+            int newline = text.indexOf('\n', lineStart);
+            int lineEnd = newline < 0 ? length : newline;
+            
+            int start = lineStart;
+            int end = lineEnd;
+            while (start < end && text.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            int lineLength = end - start;
+            
+            if (lineLength >= 3 && !isDigitsOnly(text, start, end) && !containsNumericDate(text, start, end)
+                    && (lineLength > 5 || containsKeyword(text, start, end))) {
+                return text.substring(start, end);
+            }
+            if (fallbackStart < 0 && lineLength > 3) {
+                fallbackStart = start;
+                fallbackEnd = end;
+            }
+            
+            if (newline < 0) {
+                break;
+            }
+            lineStart = newline + 1;
+        }
+        
+        return fallbackStart >= 0 ? text.substring(fallbackStart, fallbackEnd) : UNKNOWN_MERCHANT;
+    }
+    
+    /**
+     * Largest amount after a total-like label, or the largest plain decimal
+     * below {@value #FALLBACK_AMOUNT_LIMIT} when there is no label.
+     */
+    public Double extractAmount(String text) {
+        double maxAmount = maxAmount(AMOUNT_PATTERN.matcher(text), Double.MAX_VALUE);
+        if (maxAmount == 0.0) {
+            maxAmount = maxAmount(FALLBACK_AMOUNT_PATTERN.matcher(text), FALLBACK_AMOUNT_LIMIT);
+        }
+        return maxAmount;
+    }
+    
+    /**
+     * Date of the first date-like match at the current time of day, or now
+     * when there is none or it cannot be read as a numeric date.
+     */
+    public LocalDateTime extractDate(String text) {
+        Matcher matcher = DATE_PATTERN.matcher(text);
+        if (matcher.find()) {
+            LocalDate date = null;
+            if (matcher.start(DAY_MONTH_YEAR) >= 0) {
+                date = parseDayMonthYear(text, matcher.start(DAY_MONTH_YEAR), matcher.end(DAY_MONTH_YEAR));
+            } else if (matcher.start(YEAR_MONTH_DAY) >= 0) {
+                date = parseYearMonthDay(text, matcher.start(YEAR_MONTH_DAY), matcher.end(YEAR_MONTH_DAY));
+            }
+            if (date != null) {
+                return date.atTime(LocalTime.now(clock));
+            }
+        }
+        return LocalDateTime.now(clock);
+    }
+    
+    private double maxAmount(Matcher matcher, double limit) {
+        double maxAmount = 0.0;
+        while (matcher.find()) {
+            try {
+                double amount = Double.parseDouble(stripGrouping(matcher.group(1)));
+                if (amount > maxAmount && amount < limit) {
+                    maxAmount = amount;
+                }
+            } catch (NumberFormatException ignored) {
+            
+            }
+        }
+        return maxAmount;
+    }
+    
+    private static String stripGrouping(String amount) {
+        if (amount.indexOf(' ') < 0 && amount.indexOf(',') < 0) {
+            return amount;
+        }
+        StringBuilder digits = new StringBuilder(amount.length());
+        for (int i = 0; i < amount.length(); i++) {
+            char c = amount.charAt(i);
+            if (c != ' ' && c != ',') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+    
+    /**
+     * {@code dd?mm?yy(yy)}, read day-first and then month-first.
+     */
+    private static LocalDate parseDayMonthYear(String text, int start, int end) {
+        int firstSeparator = start + 2;
+        int secondSeparator = firstSeparator + 3;
+        if (!isTwoDigits(text, start) || !isTwoDigits(text, firstSeparator + 1)
+                || !sameSeparator(text, firstSeparator, secondSeparator)) {
+            return null;
+        }
+        int yearLength = end - secondSeparator - 1;
+        int year;
+        if (yearLength == 4) {
+            year = number(text, secondSeparator + 1, end);
+        } else if (yearLength == 2) {
+            year = 2000 + number(text, secondSeparator + 1, end);
+        } else {
+            return null;
+        }
+        int first = number(text, start, firstSeparator);
+        int second = number(text, firstSeparator + 1, secondSeparator);
+        
+        LocalDate date = toDate(year, second, first);
+        return date != null ? date : toDate(year, first, second);
+    }
+    
+    /**
+     * {@code yyyy?mm?dd}.
+     */
+    private static LocalDate parseYearMonthDay(String text, int start, int end) {
+        int firstSeparator = start + 4;
+        int secondSeparator = firstSeparator + 3;
+        if (end != secondSeparator + 3 || !isTwoDigits(text, firstSeparator + 1)
+                || !sameSeparator(text, firstSeparator, secondSeparator)) {
+            return null;
+        }
+        return toDate(number(text, start, firstSeparator),
+            number(text, firstSeparator + 1, secondSeparator),
+            number(text, secondSeparator + 1, end));
+    }
+    
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return yearMonth.atDay(Math.min(day, yearMonth.lengthOfMonth()));
+    }
+    
+    private static boolean sameSeparator(String text, int first, int second) {
+        if (second >= text.length() || text.charAt(first) != text.charAt(second)) {
+            return false;
+        }
+        char separator = text.charAt(first);
+        return separator == '/' || separator == '-';
+    }
+    
+    private static boolean isTwoDigits(String text, int index) {
+        return index + 1 < text.length() && isDigit(text.charAt(index)) && isDigit(text.charAt(index + 1));
+    }
+    
+    private static int number(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+    
+    private static boolean isDigitsOnly(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c) && !isRegexWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Whether the line contains {@code \d{2}[/-]\d{2}[/-]\d{2}}.
+     */
+    private static boolean containsNumericDate(String text, int start, int end) {
+        for (int i = start; i + 8 <= end; i++) {
+            if (isDigit(text.charAt(i)) && isDigit(text.charAt(i + 1)) && isDateSeparator(text.charAt(i + 2))
+                    && isDigit(text.charAt(i + 3)) && isDigit(text.charAt(i + 4)) && isDateSeparator(text.charAt(i + 5))
+                    && isDigit(text.charAt(i + 6)) && isDigit(text.charAt(i + 7))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean containsKeyword(String text, int start, int end) {
+        for (String keyword : MERCHANT_KEYWORDS) {
+            for (int i = start; i + keyword.length() <= end; i++) {
+                if (text.regionMatches(true, i, keyword, 0, keyword.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    private static boolean isDateSeparator(char c) {
+        return c == '/' || c == '-';
+    }
+    
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,92 @@
+package com.receipthub.service.ocr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local engine that runs the Tesseract binary on this host. The image is
+ * piped to the process over stdin; stdout is redirected to a small temp file
+ * by the OS, so no extra thread is needed to drain it while stdin is being
+ * written. Concurrency is capped so OCR cannot use more cores than
+ * {@code ocr.tesseract.max-concurrency}.
+ */
+@Component
+public class TesseractOcrEngine implements OcrEngine {
+    
+    private static final Logger log = LoggerFactory.getLogger(TesseractOcrEngine.class);
+    
+    private final String command;
+    private final String language;
+    private final long timeoutSeconds;
+    private final Semaphore permits;
+    
+    public TesseractOcrEngine(
+            @Value("${ocr.tesseract.command}") String command,
+            @Value("${ocr.tesseract.language}") String language,
+            @Value("${ocr.tesseract.timeout-seconds}") long timeoutSeconds,
+            @Value("${ocr.tesseract.max-concurrency:0}") int maxConcurrency) {
+        this.command = command;
+        this.language = language;
+        this.timeoutSeconds = timeoutSeconds;
+        this.permits = new Semaphore(maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors());
+    }
+    
+    @Override
+    public String getName() {
+        return "tesseract";
+    }
+    
+    @Override
+    public String extractText(ReceiptImage image) throws Exception {
+        permits.acquire();
+        try {
+            return runTesseract(image);
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private String runTesseract(ReceiptImage image) throws IOException, InterruptedException {
+        Path output = Files.createTempFile("tesseract-", ".txt");
+        try {
+            // --psm 4: assume a single column of text of variable sizes, which suits receipts
+            Process process = new ProcessBuilder(List.of(command, "stdin", "stdout", "-l", language, "--psm", "4"))
+                .redirectOutput(output.toFile())
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            
+            try {
+                try (InputStream in = image.openStream(); OutputStream stdin = process.getOutputStream()) {
+                    in.transferTo(stdin);
+                }
+                
+                if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                    throw new IOException("Tesseract timed out after " + timeoutSeconds + "s");
+                }
+                if (process.exitValue() != 0) {
+                    throw new IOException("Tesseract exited with code " + process.exitValue());
+                }
+            } finally {
+                process.destroyForcibly();
+            }
+            
+            String text = Files.readString(output, StandardCharsets.UTF_8);
+            log.debug("Tesseract extracted {} characters from {}", text.length(), image.getFileName());
+            return text;
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+}
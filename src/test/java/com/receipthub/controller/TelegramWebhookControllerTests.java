@@ -0,0 +1,88 @@
+package com.receipthub.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import com.receipthub.config.SecurityConfig;
+import com.receipthub.service.AuthService;
+import com.receipthub.service.TelegramBotService;
+
+/**
+ * Stands in for Telegram by posting a recorded update to the webhook.
+ */
+@WebMvcTest(controllers = TelegramWebhookController.class, properties = {
+	"server.port=0",
+	"telegram.bot.enabled=true",
+	"telegram.bot.mode=webhook",
+	"telegram.bot.webhook.secret-token=test-secret"
+})
+@Import(SecurityConfig.class)
+class TelegramWebhookControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private TelegramBotService telegramBotService;
+
+	@MockitoBean
+	private AuthService authService;
+
+	@Test
+	void dispatchesUpdateWithValidSecret() throws Exception {
+		mockMvc.perform(post(TelegramWebhookController.WEBHOOK_PATH)
+				.header(TelegramWebhookController.SECRET_HEADER, "test-secret")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(recordedUpdate()))
+			.andExpect(status().isOk());
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(telegramBotService).onUpdateReceived(update.capture());
+		assertThat(update.getValue().getUpdateId()).isEqualTo(815230417);
+		assertThat(update.getValue().getMessage().getChatId()).isEqualTo(502331187L);
+		assertThat(update.getValue().getMessage().getText()).isEqualTo("/status");
+	}
+
+	@Test
+	void rejectsInvalidSecret() throws Exception {
+		mockMvc.perform(post(TelegramWebhookController.WEBHOOK_PATH)
+				.header(TelegramWebhookController.SECRET_HEADER, "wrong-secret")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(recordedUpdate()))
+			.andExpect(status().isUnauthorized());
+
+		verify(telegramBotService, never()).onUpdateReceived(any());
+	}
+
+	@Test
+	void rejectsMissingSecret() throws Exception {
+		mockMvc.perform(post(TelegramWebhookController.WEBHOOK_PATH)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(recordedUpdate()))
+			.andExpect(status().isUnauthorized());
+
+		verify(telegramBotService, never()).onUpdateReceived(any());
+	}
+
+	private String recordedUpdate() throws Exception {
+		return new ClassPathResource("telegram/text-message-update.json").getContentAsString(StandardCharsets.UTF_8);
+	}
+
+}
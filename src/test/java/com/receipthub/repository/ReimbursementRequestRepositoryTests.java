@@ -0,0 +1,190 @@
+package com.receipthub.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.receipthub.dto.ReimbursementResponse;
+import com.receipthub.dto.StatusSummary;
+import com.receipthub.model.Receipt;
+import com.receipthub.model.ReimbursementRequest;
+import com.receipthub.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.show-sql=false",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"spring.sql.init.mode=never"
+})
+class ReimbursementRequestRepositoryTests {
+
+	private static final int ROWS = 12;
+	private static final int PAGE_SIZE = 5;
+
+	@Autowired
+	private ReimbursementRequestRepository reimbursementRequestRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private User employee;
+
+	@BeforeEach
+	void setUp() {
+		employee = persistUser("Employee", "employee@receipthub.test", User.UserRole.EMPLOYEE);
+		User otherEmployee = persistUser("Other", "other@receipthub.test", User.UserRole.EMPLOYEE);
+		User admin = persistUser("Admin", "admin@receipthub.test", User.UserRole.ADMIN);
+
+		for (int i = 0; i < ROWS; i++) {
+			Receipt receipt = new Receipt();
+			receipt.setImageUrl("receipt-" + i + ".jpg");
+			receipt.setMerchantName("Merchant " + i);
+			receipt.setAmount(10.0 + i);
+			receipt.setTransactionDate(LocalDateTime.now().minusDays(i));
+			receipt.setOcrStatus(Receipt.OcrStatus.COMPLETED);
+			entityManager.persist(receipt);
+
+			ReimbursementRequest request = new ReimbursementRequest();
+			request.setReceipt(receipt);
+			request.setSubmittedBy(i % 2 == 0 ? employee : otherEmployee);
+			request.setRequestedAmount(10.0 + i);
+			request.setDescription("Expense " + i);
+			if (i % 3 == 0) {
+				request.setStatus(ReimbursementRequest.RequestStatus.APPROVED);
+				request.setReviewedBy(admin);
+				request.setReviewedAt(LocalDateTime.now());
+			} else {
+				request.setStatus(ReimbursementRequest.RequestStatus.PENDING);
+			}
+			entityManager.persist(request);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		statistics().clear();
+	}
+
+	@Test
+	void loadsPageOfResponsesWithSelectAndCountOnly() {
+		Page<ReimbursementResponse> page = reimbursementRequestRepository.findResponses(firstPage());
+
+		assertThat(page.getContent()).hasSize(PAGE_SIZE);
+		assertThat(page.getTotalElements()).isEqualTo(ROWS);
+		assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics().getEntityLoadCount()).isZero();
+
+		ReimbursementResponse first = page.getContent().get(0);
+		assertThat(first.getMerchantName()).startsWith("Merchant ");
+		assertThat(first.getSubmittedByName()).isNotBlank();
+		assertThat(first.getSubmittedByEmail()).endsWith("@receipthub.test");
+		assertThat(first.getStatus()).isIn("PENDING", "APPROVED");
+	}
+
+	@Test
+	void includesReviewerFromOuterJoin() {
+		Page<ReimbursementResponse> page = reimbursementRequestRepository.findResponsesByStatus(
+			ReimbursementRequest.RequestStatus.APPROVED, firstPage());
+
+		assertThat(page.getContent()).isNotEmpty()
+			.allSatisfy(response -> assertThat(response.getReviewedByName()).isEqualTo("Admin"));
+		assertThat(statistics().getPrepareStatementCount()).isLessThanOrEqualTo(2);
+		assertThat(statistics().getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void loadsSubmitterPageWithoutPerRowQueries() {
+		Page<ReimbursementResponse> page = reimbursementRequestRepository.findResponsesBySubmitter(
+			employee.getId(), firstPage());
+
+		assertThat(page.getContent()).hasSize(PAGE_SIZE)
+			.allSatisfy(response -> assertThat(response.getSubmittedByName()).isEqualTo("Employee"));
+		assertThat(page.getTotalElements()).isEqualTo(ROWS / 2);
+		assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics().getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void walksAllRowsWithKeysetPages() {
+		List<ReimbursementResponse> seen = new ArrayList<>();
+		List<ReimbursementResponse> page = reimbursementRequestRepository.findResponsesFirst(null, null, Limit.of(PAGE_SIZE));
+		while (!page.isEmpty()) {
+			seen.addAll(page);
+			ReimbursementResponse last = page.get(page.size() - 1);
+			page = reimbursementRequestRepository.findResponsesAfter(
+				null, null, last.getSubmittedAt(), last.getId(), Limit.of(PAGE_SIZE));
+		}
+
+		assertThat(seen).hasSize(ROWS);
+		assertThat(seen).extracting(ReimbursementResponse::getId).doesNotHaveDuplicates();
+		assertThat(seen).isSortedAccordingTo(Comparator
+			.comparing(ReimbursementResponse::getSubmittedAt)
+			.thenComparing(ReimbursementResponse::getId)
+			.reversed());
+		// One statement per page, including the final empty one, and no count
+		assertThat(statistics().getPrepareStatementCount()).isEqualTo(ROWS / PAGE_SIZE + 2);
+	}
+
+	@Test
+	void filtersKeysetPagesBySubmitterAndStatus() {
+		List<ReimbursementResponse> page = reimbursementRequestRepository.findResponsesFirst(
+			ReimbursementRequest.RequestStatus.PENDING, employee.getId(), Limit.of(ROWS));
+
+		assertThat(page).isNotEmpty().allSatisfy(response -> {
+			assertThat(response.getStatus()).isEqualTo("PENDING");
+			assertThat(response.getSubmittedByName()).isEqualTo("Employee");
+		});
+		assertThat(reimbursementRequestRepository.countResponses(
+			ReimbursementRequest.RequestStatus.PENDING, employee.getId())).isEqualTo(page.size());
+	}
+
+	@Test
+	void summarizesSubmitterStatusesInOneQuery() {
+		List<StatusSummary> summaries = reimbursementRequestRepository.summarizeByStatusForSubmitter(employee.getId());
+
+		// employee owns the even rows; 0 and 6 are approved
+		assertThat(summaries).extracting(StatusSummary::getStatus, StatusSummary::getCount, StatusSummary::getTotalAmount)
+			.containsExactlyInAnyOrder(
+				tuple(ReimbursementRequest.RequestStatus.APPROVED, 2L, 26.0),
+				tuple(ReimbursementRequest.RequestStatus.PENDING, 4L, 64.0));
+		assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	private PageRequest firstPage() {
+		return PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "submittedAt"));
+	}
+
+	private User persistUser(String name, String email, User.UserRole role) {
+		User user = new User();
+		user.setName(name);
+		user.setEmail(email);
+		user.setPassword("secret");
+		user.setRole(role);
+		return entityManager.persist(user);
+	}
+
+	private Statistics statistics() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+}
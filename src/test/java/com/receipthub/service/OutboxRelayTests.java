@@ -0,0 +1,161 @@
+package com.receipthub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.receipthub.event.ReimbursementSubmittedEvent;
+import com.receipthub.model.OutboundMessage;
+import com.receipthub.model.OutboxEvent;
+import com.receipthub.model.Receipt;
+import com.receipthub.model.ReimbursementRequest;
+import com.receipthub.model.User;
+import com.receipthub.repository.OutboundMessageRepository;
+import com.receipthub.repository.OutboxEventRepository;
+import com.receipthub.repository.ReceiptRepository;
+import com.receipthub.repository.ReimbursementRequestRepository;
+import com.receipthub.repository.UserRepository;
+
+@DataJpaTest(properties = {
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.show-sql=false",
+	"spring.sql.init.mode=never"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTests {
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private OutboundMessageRepository outboundMessageRepository;
+
+	@Autowired
+	private ReimbursementRequestRepository reimbursementRequestRepository;
+
+	@Autowired
+	private ReceiptRepository receiptRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private User employee;
+
+	/**
+	 * Stands in for the notification listener: queues one message per event,
+	 * except for the poisoned request, whose message violates a NOT NULL
+	 * column and fails the insert.
+	 */
+	private Long poisonedRequestId;
+
+	private final ApplicationEventPublisher listener = event -> {
+		ReimbursementRequest request = ((ReimbursementSubmittedEvent) event).getReimbursementRequest();
+		OutboundMessage message = new OutboundMessage();
+		message.setChatId(1L);
+		message.setText(request.getId().equals(poisonedRequestId) ? null : "Request #" + request.getId());
+		message.setNextAttemptAt(LocalDateTime.now());
+		outboundMessageRepository.save(message);
+	};
+
+	@BeforeEach
+	void setUp() {
+		employee = new User();
+		employee.setName("Employee");
+		employee.setEmail("employee@receipthub.test");
+		employee.setPassword("secret");
+		employee.setRole(User.UserRole.EMPLOYEE);
+		employee = userRepository.save(employee);
+	}
+
+	@AfterEach
+	void tearDown() {
+		outboundMessageRepository.deleteAllInBatch();
+		outboxEventRepository.deleteAllInBatch();
+		reimbursementRequestRepository.deleteAllInBatch();
+		receiptRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void aFailingEventDoesNotRollBackTheRestOfTheBatch() {
+		OutboxEvent first = submitted(request("first"));
+		ReimbursementRequest poisoned = request("poisoned");
+		poisonedRequestId = poisoned.getId();
+		OutboxEvent failing = submitted(poisoned);
+		OutboxEvent last = submitted(request("last"));
+
+		relay(5).relay();
+
+		assertThat(outboxEventRepository.findById(first.getId())).get()
+			.extracting(OutboxEvent::getStatus).isEqualTo(OutboxEvent.Status.DELIVERED);
+		assertThat(outboxEventRepository.findById(last.getId())).get()
+			.extracting(OutboxEvent::getStatus).isEqualTo(OutboxEvent.Status.DELIVERED);
+		assertThat(outboxEventRepository.findById(failing.getId())).get().satisfies(event -> {
+			assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+			assertThat(event.getAttempts()).isEqualTo(1);
+			assertThat(event.getLastError()).isNotBlank();
+			assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+		});
+		assertThat(outboundMessageRepository.findAll()).extracting(OutboundMessage::getText)
+			.containsExactlyInAnyOrder("Request #" + first.getAggregateId(), "Request #" + last.getAggregateId());
+	}
+
+	@Test
+	void failsAnEventAfterMaxAttempts() {
+		ReimbursementRequest poisoned = request("poisoned");
+		poisonedRequestId = poisoned.getId();
+		OutboxEvent failing = submitted(poisoned);
+		OutboxRelay relay = relay(0);
+
+		for (int i = 0; i < 5; i++) {
+			relay.relay();
+		}
+
+		assertThat(outboxEventRepository.findAll())
+			.extracting(OutboxEvent::getId, OutboxEvent::getStatus, OutboxEvent::getAttempts)
+			.containsExactly(tuple(failing.getId(), OutboxEvent.Status.FAILED, 3));
+		assertThat(outboundMessageRepository.findAll()).isEmpty();
+	}
+
+	private OutboxRelay relay(long backoffBaseSeconds) {
+		return new OutboxRelay(outboxEventRepository, reimbursementRequestRepository, listener, transactionManager,
+			50, 3, backoffBaseSeconds);
+	}
+
+	private ReimbursementRequest request(String description) {
+		Receipt receipt = new Receipt();
+		receipt.setImageUrl(description + ".jpg");
+		receipt.setOcrStatus(Receipt.OcrStatus.COMPLETED);
+		receipt = receiptRepository.save(receipt);
+
+		ReimbursementRequest request = new ReimbursementRequest();
+		request.setReceipt(receipt);
+		request.setSubmittedBy(employee);
+		request.setRequestedAmount(10.0);
+		request.setDescription(description);
+		request.setStatus(ReimbursementRequest.RequestStatus.PENDING);
+		return reimbursementRequestRepository.save(request);
+	}
+
+	private OutboxEvent submitted(ReimbursementRequest request) {
+		OutboxEvent event = new OutboxEvent();
+		event.setEventType(OutboxEvent.EventType.REIMBURSEMENT_SUBMITTED);
+		event.setAggregateId(request.getId());
+		return outboxEventRepository.save(event);
+	}
+}
@@ -0,0 +1,39 @@
+package com.receipthub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+class ReceiptPipelineMetricsTests {
+
+	private final PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+	private final ReceiptPipelineMetrics pipelineMetrics = new ReceiptPipelineMetrics(meterRegistry, observationRegistry());
+
+	@Test
+	void exportsStageAndEngineTimersToPrometheus() {
+		pipelineMetrics.time(ReceiptPipelineMetrics.OCR_EXTRACT, () ->
+			pipelineMetrics.timeEngine("tesseract", () -> "TOTAL 12.50"));
+		pipelineMetrics.time(ReceiptPipelineMetrics.OCR_PARSE, () -> null);
+		pipelineMetrics.timeEngine("ocr-space", () -> "TOTAL 12.50");
+
+		String scrape = meterRegistry.scrape();
+
+		assertThat(scrape)
+			.contains("receipt_pipeline_stage_seconds_count{error=\"none\",outcome=\"success\",stage=\"ocr.extract\"} 1")
+			.contains("receipt_pipeline_stage_seconds_count{error=\"none\",outcome=\"success\",stage=\"ocr.parse\"} 1")
+			.contains("receipt_ocr_engine_seconds_count{engine=\"tesseract\",error=\"none\",outcome=\"success\",stage=\"ocr.engine\"} 1")
+			.contains("receipt_ocr_engine_seconds_count{engine=\"ocr-space\",error=\"none\",outcome=\"success\",stage=\"ocr.engine\"} 1");
+	}
+
+	private ObservationRegistry observationRegistry() {
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+		return registry;
+	}
+}
@@ -0,0 +1,121 @@
+package com.receipthub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+class ReceiptTraceRecorderTests {
+
+	private final ReceiptTraceRecorder recorder = new ReceiptTraceRecorder(100);
+
+	private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+		.addSpanProcessor(SimpleSpanProcessor.create(recorder))
+		.build();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ReceiptPipelineMetrics pipelineMetrics = new ReceiptPipelineMetrics(meterRegistry, observationRegistry());
+
+	@AfterEach
+	void closeTracer() {
+		tracerProvider.close();
+	}
+
+	@Test
+	void recordsNestedStagesUnderTheTaggedReceipt() {
+		pipelineMetrics.time(ReceiptPipelineMetrics.TELEGRAM_UPDATE, () ->
+			pipelineMetrics.time(ReceiptPipelineMetrics.RECEIPT_UPLOAD, () -> {
+				pipelineMetrics.time(ReceiptPipelineMetrics.STORAGE_UPLOAD, () -> "receipt.jpg");
+				pipelineMetrics.time(ReceiptPipelineMetrics.RECEIPT_SAVE, () -> 42L);
+				pipelineMetrics.tagReceipt(42L);
+				return null;
+			}));
+		pipelineMetrics.time(ReceiptPipelineMetrics.TELEGRAM_UPDATE, () -> {
+			pipelineMetrics.tagReceipt(7L);
+			return null;
+		});
+
+		List<ReceiptTraceRecorder.RecordedSpan> trace = recorder.getTrace(42L);
+
+		assertThat(trace).extracting(ReceiptTraceRecorder.RecordedSpan::name).containsExactlyInAnyOrder(
+			ReceiptPipelineMetrics.TELEGRAM_UPDATE, ReceiptPipelineMetrics.RECEIPT_UPLOAD,
+			ReceiptPipelineMetrics.STORAGE_UPLOAD, ReceiptPipelineMetrics.RECEIPT_SAVE);
+		Map<String, ReceiptTraceRecorder.RecordedSpan> byName = trace.stream()
+			.collect(Collectors.toMap(ReceiptTraceRecorder.RecordedSpan::name, Function.identity()));
+		assertThat(byName.get(ReceiptPipelineMetrics.TELEGRAM_UPDATE).parentSpanId()).isNull();
+		assertThat(byName.get(ReceiptPipelineMetrics.STORAGE_UPLOAD).parentSpanId())
+			.isEqualTo(byName.get(ReceiptPipelineMetrics.RECEIPT_UPLOAD).spanId());
+		assertThat(byName.get(ReceiptPipelineMetrics.RECEIPT_UPLOAD).attributes())
+			.containsEntry(ReceiptPipelineMetrics.RECEIPT_ID, "42")
+			.containsEntry("outcome", "success");
+		assertThat(recorder.getRecentReceipts(10)).containsExactly(7L, 42L);
+	}
+
+	@Test
+	void recordsFailedStagesAsErrors() {
+		assertThatThrownBy(() -> pipelineMetrics.time(ReceiptPipelineMetrics.OCR_JOB, () -> {
+			pipelineMetrics.tagReceipt(1L);
+			throw new IllegalStateException("OCR service unavailable");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(recorder.getTrace(1L)).singleElement().satisfies(span -> {
+			assertThat(span.error()).isTrue();
+			assertThat(span.attributes()).containsEntry("outcome", "error");
+		});
+		assertThat(meterRegistry.get(ReceiptPipelineMetrics.STAGE_TIMER)
+			.tag("stage", ReceiptPipelineMetrics.OCR_JOB)
+			.tag("outcome", "error")
+			.timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void dropsOldestSpansPastTheLimit() {
+		ReceiptTraceRecorder small = new ReceiptTraceRecorder(2);
+		try (SdkTracerProvider provider = SdkTracerProvider.builder()
+				.addSpanProcessor(SimpleSpanProcessor.create(small))
+				.build()) {
+			ReceiptPipelineMetrics metrics = new ReceiptPipelineMetrics(meterRegistry, observationRegistry(provider));
+			for (long receiptId = 1; receiptId <= 3; receiptId++) {
+				long id = receiptId;
+				metrics.time(ReceiptPipelineMetrics.OCR_JOB, () -> {
+					metrics.tagReceipt(id);
+					return null;
+				});
+			}
+		}
+
+		assertThat(small.getTrace(1L)).isEmpty();
+		assertThat(small.getTrace(3L)).hasSize(1);
+		assertThat(small.getRecentReceipts(10)).containsExactly(3L, 2L);
+	}
+
+	private ObservationRegistry observationRegistry() {
+		return observationRegistry(tracerProvider);
+	}
+
+	private ObservationRegistry observationRegistry(SdkTracerProvider provider) {
+		OtelTracer tracer = new OtelTracer(provider.get("receipthub"), new OtelCurrentTraceContext(), event -> {
+		});
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig()
+			.observationHandler(new DefaultMeterObservationHandler(meterRegistry))
+			.observationHandler(new DefaultTracingObservationHandler(tracer));
+		return registry;
+	}
+}
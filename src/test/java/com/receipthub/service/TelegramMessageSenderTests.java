@@ -0,0 +1,225 @@
+package com.receipthub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.ApiResponse;
+import org.telegram.telegrambots.meta.bots.AbsSender;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.receipthub.model.OutboundMessage;
+import com.receipthub.repository.OutboundMessageRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = {
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.show-sql=false",
+	"spring.sql.init.mode=never"
+})
+class TelegramMessageSenderTests {
+
+	@Autowired
+	private OutboundMessageRepository outboundMessageRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-05T09:00:00Z"));
+
+	private final AbsSender telegram = mock(AbsSender.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private TelegramMessageSender sender;
+
+	@BeforeEach
+	void setUp() {
+		sender = new TelegramMessageSender(telegram, outboundMessageRepository, transactionManager, meterRegistry,
+			2, 1, 1, 3, 50, clock);
+	}
+
+	@Test
+	void sendsAtMostOneMessagePerChatPerSecond() throws Exception {
+		sender.enqueue(1L, "first");
+		sender.drain();
+		sender.enqueue(1L, "second");
+		sender.drain();
+		advance(Duration.ofMillis(500));
+		sender.drain();
+
+		assertThat(sentTexts(1)).containsExactly("first");
+
+		advance(Duration.ofMillis(500));
+		sender.drain();
+
+		assertThat(sentTexts(2)).containsExactly("first", "second");
+		assertThat(sender.getQueued()).isZero();
+		assertThat(outboundMessageRepository.findAll()).extracting(OutboundMessage::getStatus)
+			.containsOnly(OutboundMessage.Status.SENT);
+	}
+
+	@Test
+	void sharesTheGlobalRateAcrossChats() throws Exception {
+		sender.enqueue(1L, "one");
+		sender.enqueue(2L, "two");
+		sender.enqueue(3L, "three");
+		sender.drain();
+
+		assertThat(sentTexts(2)).hasSize(2);
+		assertThat(sender.getQueued()).isEqualTo(1);
+
+		advance(Duration.ofMillis(500));
+		sender.drain();
+
+		assertThat(sentTexts(3)).containsExactlyInAnyOrder("one", "two", "three");
+	}
+
+	@Test
+	void coalescesQueuedMessagesForAChatIntoOneDigest() throws Exception {
+		sender.enqueue(1L, "Request #1 approved");
+		sender.enqueue(1L, "Request #2 approved");
+		sender.enqueue(1L, "Request #3 rejected");
+		sender.drain();
+
+		assertThat(sentTexts(1)).singleElement().satisfies(text -> assertThat(text)
+			.startsWith("You have 3 new notifications:")
+			.contains("Request #1 approved", "Request #2 approved", "Request #3 rejected"));
+		assertThat(meterRegistry.counter("telegram.outbound.coalesced").count()).isEqualTo(2);
+		assertThat(sender.getQueued()).isZero();
+	}
+
+	@Test
+	void waitsForRetryAfterWhenRateLimited() throws Exception {
+		doThrow(tooManyRequests(3)).doReturn(null).when(telegram).execute(any(SendMessage.class));
+
+		sender.enqueue(1L, "approved");
+		sender.drain();
+		advance(Duration.ofSeconds(2));
+		sender.drain();
+
+		verify(telegram, times(1)).execute(any(SendMessage.class));
+
+		advance(Duration.ofSeconds(1));
+		sender.drain();
+
+		assertThat(sentTexts(2)).containsExactly("approved", "approved");
+		assertThat(meterRegistry.counter("telegram.outbound.rate_limited").count()).isEqualTo(1);
+		assertThat(sender.getQueued()).isZero();
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() throws Exception {
+		doThrow(new TelegramApiException("Bad Gateway")).when(telegram).execute(any(SendMessage.class));
+
+		sender.enqueue(1L, "approved");
+		for (int i = 0; i < 10; i++) {
+			sender.drain();
+			advance(Duration.ofMinutes(1));
+		}
+
+		verify(telegram, times(3)).execute(any(SendMessage.class));
+		assertThat(meterRegistry.counter("telegram.outbound.retried").count()).isEqualTo(2);
+		assertThat(meterRegistry.counter("telegram.outbound.failed").count()).isEqualTo(1);
+		assertThat(sender.getQueued()).isZero();
+		assertThat(outboundMessageRepository.findAll()).singleElement().satisfies(message -> {
+			assertThat(message.getStatus()).isEqualTo(OutboundMessage.Status.FAILED);
+			assertThat(message.getAttempts()).isEqualTo(3);
+			assertThat(message.getLastError()).isEqualTo("Bad Gateway");
+		});
+	}
+
+	@Test
+	void keepsLaterMessagesBehindAChatWaitingForRetry() throws Exception {
+		doThrow(tooManyRequests(5)).doReturn(null).when(telegram).execute(any(SendMessage.class));
+
+		sender.enqueue(1L, "first");
+		sender.drain();
+		advance(Duration.ofSeconds(1));
+		sender.enqueue(1L, "second");
+		advance(Duration.ofSeconds(1));
+		sender.drain();
+
+		verify(telegram, times(1)).execute(any(SendMessage.class));
+
+		advance(Duration.ofSeconds(3));
+		sender.drain();
+
+		assertThat(sentTexts(2)).last().satisfies(text -> assertThat(text)
+			.startsWith("You have 2 new notifications:")
+			.containsSubsequence("first", "second"));
+	}
+
+	@Test
+	void ignoresMessagesWithoutChat() throws Exception {
+		sender.enqueue(null, "approved");
+		sender.drain();
+
+		verify(telegram, never()).execute(any(SendMessage.class));
+		assertThat(sender.getQueued()).isZero();
+	}
+
+	private void advance(Duration duration) {
+		clock.instant = clock.instant.plus(duration);
+	}
+
+	private List<String> sentTexts(int expectedCalls) throws TelegramApiException {
+		ArgumentCaptor<SendMessage> messages = ArgumentCaptor.forClass(SendMessage.class);
+		verify(telegram, times(expectedCalls)).execute(messages.capture());
+		return messages.getAllValues().stream().map(SendMessage::getText).toList();
+	}
+
+	private static TelegramApiRequestException tooManyRequests(int retryAfter) throws Exception {
+		ApiResponse<?> response = new ObjectMapper().readValue("""
+			{"ok": false, "error_code": 429, "description": "Too Many Requests: retry after %d",
+			 "parameters": {"retry_after": %d}}
+			""".formatted(retryAfter, retryAfter), ApiResponse.class);
+		return new TelegramApiRequestException("Error sending message", response);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant instant;
+
+		MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+}
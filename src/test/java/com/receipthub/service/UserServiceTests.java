@@ -0,0 +1,115 @@
+package com.receipthub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.receipthub.dto.UserIdentity;
+import com.receipthub.model.User;
+import com.receipthub.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserServiceTests {
+
+	private static final Long USER_ID = 1L;
+	private static final Long CHAT_ID = 502331187L;
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+
+	private final UserService userService = new UserService(userRepository,
+		new UserLookupCache(new SimpleMeterRegistry(), 300, 100));
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setId(USER_ID);
+		user.setName("Dana Admin");
+		user.setEmail("dana@receipthub.test");
+		user.setRole(User.UserRole.ADMIN);
+		user.setTelegramChatId(CHAT_ID);
+
+		when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+		when(userRepository.findByEmail("dana@receipthub.test")).thenReturn(Optional.of(user));
+		when(userRepository.findByTelegramChatId(CHAT_ID)).thenReturn(Optional.of(user));
+		when(userRepository.findByRole(User.UserRole.ADMIN)).thenReturn(List.of(user));
+	}
+
+	@Test
+	void cachesSnapshotsRatherThanEntities() {
+		UserIdentity cached = userService.getUserById(USER_ID);
+		user.setName("Changed Without Eviction");
+
+		assertThat(userService.getUserById(USER_ID)).isSameAs(cached);
+		assertThat(cached.name()).isEqualTo("Dana Admin");
+		verify(userRepository, times(1)).findById(USER_ID);
+	}
+
+	@Test
+	void updateUserEvictsEveryKey() {
+		primeAllCaches();
+
+		User updated = new User();
+		updated.setName("Dana Employee");
+		updated.setEmail("dana.e@receipthub.test");
+		updated.setRole(User.UserRole.EMPLOYEE);
+		userService.updateUser(USER_ID, updated);
+
+		when(userRepository.findByEmail("dana@receipthub.test")).thenReturn(Optional.empty());
+		when(userRepository.findByEmail("dana.e@receipthub.test")).thenReturn(Optional.of(user));
+		when(userRepository.findByRole(User.UserRole.ADMIN)).thenReturn(List.of());
+
+		assertThat(userService.getUserById(USER_ID).name()).isEqualTo("Dana Employee");
+		assertThat(userService.getUserByTelegramChatId(CHAT_ID)).get()
+			.extracting(UserIdentity::email).isEqualTo("dana.e@receipthub.test");
+		assertThat(userService.getUserByEmail("dana@receipthub.test")).isEmpty();
+		assertThat(userService.getUserByEmail("dana.e@receipthub.test")).get()
+			.extracting(UserIdentity::role).isEqualTo(User.UserRole.EMPLOYEE);
+		assertThat(userService.getAdminUsers()).isEmpty();
+	}
+
+	@Test
+	void deleteUserEvictsEveryKey() {
+		primeAllCaches();
+
+		userService.deleteUser(USER_ID);
+
+		when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+		when(userRepository.findByEmail("dana@receipthub.test")).thenReturn(Optional.empty());
+		when(userRepository.findByTelegramChatId(CHAT_ID)).thenReturn(Optional.empty());
+		when(userRepository.findByRole(User.UserRole.ADMIN)).thenReturn(List.of());
+
+		assertThatThrownBy(() -> userService.getUserById(USER_ID)).hasMessageContaining("User not found");
+		assertThat(userService.getUserByTelegramChatId(CHAT_ID)).isEmpty();
+		assertThat(userService.getUserByEmail("dana@receipthub.test")).isEmpty();
+		assertThat(userService.getAdminUsers()).isEmpty();
+		verify(userRepository).deleteById(USER_ID);
+	}
+
+	@Test
+	void loginLookupBypassesTheCache() {
+		userService.getUserByEmail("dana@receipthub.test");
+		userService.loadUserByEmail("dana@receipthub.test");
+		userService.loadUserByEmail("dana@receipthub.test");
+
+		verify(userRepository, times(3)).findByEmail("dana@receipthub.test");
+	}
+
+	private void primeAllCaches() {
+		assertThat(userService.getUserById(USER_ID).name()).isEqualTo("Dana Admin");
+		assertThat(userService.getUserByTelegramChatId(CHAT_ID)).isPresent();
+		assertThat(userService.getUserByEmail("dana@receipthub.test")).isPresent();
+		assertThat(userService.getAdminUsers()).extracting(UserIdentity::id).containsExactly(USER_ID);
+	}
+}
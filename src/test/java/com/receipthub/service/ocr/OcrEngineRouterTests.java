@@ -0,0 +1,118 @@
+package com.receipthub.service.ocr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.receipthub.config.ResilienceConfig;
+import com.receipthub.service.ReceiptPipelineMetrics;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+class OcrEngineRouterTests {
+
+	private static final ReceiptImage IMAGE = new BufferedReceiptImage("receipt.jpg", new byte[] { 1, 2, 3 });
+
+	private final RestTemplate ocrRestTemplate = mock(RestTemplate.class);
+
+	private final OcrEngine tesseract = mock(OcrEngine.class);
+
+	private final CircuitBreakerRegistry circuitBreakerRegistry = new ResilienceConfig().circuitBreakerRegistry();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private ReceiptPipelineMetrics pipelineMetrics;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+		pipelineMetrics = new ReceiptPipelineMetrics(meterRegistry, observationRegistry);
+
+		when(tesseract.getName()).thenReturn("tesseract");
+		when(tesseract.extractText(any())).thenReturn("TOTAL 12.50");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void repeatedOcrSpaceFailuresOpenItsBreaker() throws Exception {
+		when(ocrRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+			.thenThrow(new ResourceAccessException("Read timed out"))
+			.thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null))
+			.thenReturn((ResponseEntity) ResponseEntity.ok(Map.of(
+				"IsErroredOnProcessing", true,
+				"ErrorMessage", List.of("Unable to recognize the file type"))));
+		OcrEngineRouter router = router("ocr-space", "tesseract");
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(router.extractText(IMAGE)).isEqualTo("TOTAL 12.50");
+		}
+
+		assertThat(circuitBreakerRegistry.circuitBreaker("ocr-space").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(circuitBreakerRegistry.circuitBreaker("tesseract").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		verify(ocrRestTemplate, times(3)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class));
+		assertThat(meterRegistry.get(ReceiptPipelineMetrics.ENGINE_TIMER)
+			.tags("engine", "ocr-space", "outcome", "error").timers())
+			.extracting(timer -> timer.getId().getTag("error"))
+			.containsExactlyInAnyOrder("ResourceAccessException", "TooManyRequests", "IOException",
+				"CallNotPermittedException");
+	}
+
+	@Test
+	void surfacesTheOcrSpaceFailureWhenItIsTheLastEngine() {
+		when(ocrRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+			.thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", null, null, null));
+		OcrEngineRouter router = router("ocr-space");
+
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> router.extractText(IMAGE)).isInstanceOf(HttpServerErrorException.class);
+		}
+		assertThatThrownBy(() -> router.extractText(IMAGE)).isInstanceOf(CallNotPermittedException.class);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void treatsAnEmptyParseAsNoTextRatherThanAFailure() throws Exception {
+		when(ocrRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+			.thenReturn((ResponseEntity) ResponseEntity.ok(Map.of(
+				"IsErroredOnProcessing", false,
+				"ParsedResults", List.of(Map.of("ParsedText", "")))));
+		OcrEngineRouter router = router("ocr-space");
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(router.extractText(IMAGE)).isNull();
+		}
+
+		assertThat(circuitBreakerRegistry.circuitBreaker("ocr-space").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	private OcrEngineRouter router(String... routeNames) {
+		return new OcrEngineRouter(List.of(new OcrSpaceEngine(ocrRestTemplate), tesseract), List.of(routeNames),
+			circuitBreakerRegistry, pipelineMetrics);
+	}
+}
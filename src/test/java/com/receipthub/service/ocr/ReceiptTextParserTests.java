@@ -0,0 +1,93 @@
+package com.receipthub.service.ocr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.receipthub.dto.OcrDataResponse;
+
+class ReceiptTextParserTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 15, 10, 30);
+
+	private final ReceiptTextParser parser = new ReceiptTextParser(
+		Clock.fixed(Instant.from(NOW.atOffset(ZoneOffset.UTC)), ZoneOffset.UTC));
+
+	@Test
+	void parsesTypicalReceipt() {
+		OcrDataResponse response = parser.parse("""
+			  INDOMARET PASAR MINGGU
+			Jl. Raya Pasar Minggu 12
+			15/03/2025 14:02
+			Aqua 600ml          4.500,00
+			SUB TOTAL           24.00
+			TOTAL               26.40
+			PAID                30.00
+			""");
+
+		assertThat(response.getMerchantName()).isEqualTo("INDOMARET PASAR MINGGU");
+		assertThat(response.getAmount()).isEqualTo(30.0);
+		assertThat(response.getTransactionDate()).isEqualTo(LocalDate.of(2025, 3, 15).atTime(NOW.toLocalTime()));
+	}
+
+	@Test
+	void skipsNumericAndDateLinesForMerchant() {
+		assertThat(parser.extractMerchantName("12345 678\r\n01-02-2025\r\nCafe\r\nSomething longer"))
+			.isEqualTo("Cafe");
+	}
+
+	@Test
+	void fallsBackToFirstLongerLineForMerchant() {
+		assertThat(parser.extractMerchantName("ab\n1234\nxyz")).isEqualTo("1234");
+		assertThat(parser.extractMerchantName("ab\n\nxyz")).isEqualTo(ReceiptTextParser.UNKNOWN_MERCHANT);
+	}
+
+	@Test
+	void takesLargestLabelledAmount() {
+		assertThat(parser.extractAmount("Subtotal: $1,234.50\nTotal Due 1, 300.00")).isEqualTo(1300.0);
+	}
+
+	@Test
+	void fallsBackToPlainDecimalsBelowLimit() {
+		assertThat(parser.extractAmount("Item 12.50\nItem 7. 25\nRef 12345.00")).isEqualTo(12.5);
+		assertThat(parser.extractAmount("no numbers here")).isZero();
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"'Date: 05/04/2024',  2024-04-05",
+		"'Date: 12/31/2024',  2024-12-31",
+		"'Date: 31-01-24',    2024-01-31",
+		"'Date: 2024-01-15',  2024-01-15",
+		"'Date: 2024/11/03',  2024-11-03",
+		"'Date: 31/02/2024',  2024-02-29",
+		"'Date: 30/02/23',    2023-02-28"
+	})
+	void readsNumericDates(String text, LocalDate expected) {
+		assertThat(parser.extractDate(text)).isEqualTo(expected.atTime(NOW.toLocalTime()));
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"'Date: 5/4/2024'",
+		"'Date: 05.04.2024'",
+		"'Date: 05/04-2024'",
+		"'Date: 13/13/2024'",
+		"'Date: 05/04/202'",
+		"'Date: Jan 5, 2024'",
+		"'Date: 5 Jan 2024'",
+		"'no date'"
+	})
+	void usesNowForUnreadableDates(String text) {
+		assertThat(parser.extractDate(text)).isEqualTo(NOW);
+	}
+
+}